@@ -0,0 +1,14 @@
+package com.soil2spoon.catalog;
+
+import java.util.Set;
+
+/**
+ * Published inside a transaction that changed products (or their rating / review count).
+ * {@link ProductCatalog} applies it to the snapshot after the transaction commits.
+ */
+public record CatalogChangedEvent(Set<Long> productIds) {
+
+    public static CatalogChangedEvent of(Long productId) {
+        return new CatalogChangedEvent(Set.of(productId));
+    }
+}
@@ -0,0 +1,109 @@
+package com.soil2spoon.catalog;
+
+import com.soil2spoon.domain.Product;
+import com.soil2spoon.domain.ProductHighlights;
+import com.soil2spoon.domain.ProductInformation;
+
+import java.util.List;
+
+/**
+ * Immutable copy of a {@link Product} as held by a {@link CatalogSnapshot}. Strings are deduplicated through
+ * the catalog's {@link StringPool}; {@code images} is an unmodifiable list.
+ */
+public record CatalogProduct(
+        long id,
+        String name,
+        String slug,
+        int price,
+        Integer originalPrice,
+        String categoryId,
+        double rating,
+        int reviewCount,
+        String netQty,
+        String image,
+        List<String> images,
+        String fallbackImage,
+        String description,
+        boolean featured,
+        boolean trending,
+        Highlights highlights,
+        Information information) {
+
+    public record Highlights(
+            String brand,
+            String productType,
+            String dietaryPreference,
+            String keyFeatures,
+            String flavour,
+            String ingredients,
+            String allergenInformation,
+            String weight,
+            String unit,
+            String packagingType) {}
+
+    public record Information(
+            String disclaimer,
+            String customerCareDetails,
+            String sellerName,
+            String sellerAddress,
+            String sellerLicenseNo,
+            String manufacturerName,
+            String countryOfOrigin,
+            String shelfLife) {}
+
+    /** Copies a managed product; must run inside the loading transaction (touches the images collection). */
+    static CatalogProduct from(Product p, StringPool pool) {
+        List<String> images = p.getImages() == null ? List.of()
+                : p.getImages().stream().map(pool::intern).toList();
+        return new CatalogProduct(
+                p.getId(),
+                pool.intern(p.getName()),
+                pool.intern(p.getSlug()),
+                p.getPrice() != null ? p.getPrice() : 0,
+                p.getOriginalPrice(),
+                p.getCategory() != null ? pool.intern(p.getCategory().getId()) : null,
+                p.getRating() != null ? p.getRating() : 0.0,
+                p.getReviewCount() != null ? p.getReviewCount() : 0,
+                pool.intern(p.getNetQty()),
+                pool.intern(p.getImage()),
+                images,
+                pool.intern(p.getFallbackImage()),
+                pool.intern(p.getDescription()),
+                Boolean.TRUE.equals(p.getFeatured()),
+                Boolean.TRUE.equals(p.getTrending()),
+                highlights(p.getHighlights(), pool),
+                information(p.getInformation(), pool));
+    }
+
+    private static Highlights highlights(ProductHighlights h, StringPool pool) {
+        if (h == null) {
+            return null;
+        }
+        return new Highlights(
+                pool.intern(h.getBrand()),
+                pool.intern(h.getProductType()),
+                pool.intern(h.getDietaryPreference()),
+                pool.intern(h.getKeyFeatures()),
+                pool.intern(h.getFlavour()),
+                pool.intern(h.getIngredients()),
+                pool.intern(h.getAllergenInformation()),
+                pool.intern(h.getWeight()),
+                pool.intern(h.getUnit()),
+                pool.intern(h.getPackagingType()));
+    }
+
+    private static Information information(ProductInformation info, StringPool pool) {
+        if (info == null) {
+            return null;
+        }
+        return new Information(
+                pool.intern(info.getDisclaimer()),
+                pool.intern(info.getCustomerCareDetails()),
+                pool.intern(info.getSellerName()),
+                pool.intern(info.getSellerAddress()),
+                pool.intern(info.getSellerLicenseNo()),
+                pool.intern(info.getManufacturerName()),
+                pool.intern(info.getCountryOfOrigin()),
+                pool.intern(info.getShelfLife()));
+    }
+}
@@ -0,0 +1,381 @@
+package com.soil2spoon.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable, versioned view of the whole product catalog.
+ * Products sit in slots ordered by id (a sorted {@code long[]} of ids is searched to find a slot) with
+ * secondary indexes by slug and category, precomputed featured / trending lists and sort orders. A snapshot
+ * is never modified: changes produce a new snapshot ({@link #withChanges}) that reuses the unchanged product
+ * objects, and {@link ProductCatalog} swaps it in atomically, so readers need no locks.
+ * <p>
+ * Slot numbers are stable between snapshots of the same {@link #generation()}: updates replace a slot, deletes
+ * leave an empty slot and new products are appended. Derived indexes can therefore store slots as ints and
+ * only have to be rebuilt from scratch when the generation changes (full reload / compaction).
+ */
+public final class CatalogSnapshot {
+
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final long version;
+    private final long generation;
+    private final long[] ids;
+    private final CatalogProduct[] products;
+    private final int[] liveSlots;
+    private final Map<String, Integer> slotBySlug;
+    private final Map<String, int[]> slotsByCategory;
+    private final int[] featuredSlots;
+    private final int[] trendingSlots;
+    private final SearchIndex searchIndex;
+    private final FacetIndex facetIndex;
+    private final SortIndex sortIndex;
+
+    private CatalogSnapshot(long version, long generation, long[] ids, CatalogProduct[] products,
+                            SearchIndex searchIndex, FacetIndex facetIndex, SortIndex sortIndex) {
+        this.version = version;
+        this.generation = generation;
+        this.ids = ids;
+        this.products = products;
+        this.searchIndex = searchIndex;
+        this.facetIndex = facetIndex;
+        this.sortIndex = sortIndex;
+
+        int live = 0;
+        for (CatalogProduct p : products) {
+            if (p != null) live++;
+        }
+        int[] liveSlots = new int[live];
+        Map<String, Integer> slotBySlug = new HashMap<>(live * 2);
+        Map<String, IntList> byCategory = new HashMap<>();
+        IntList featured = new IntList();
+        IntList trending = new IntList();
+        int n = 0;
+        for (int slot = 0; slot < products.length; slot++) {
+            CatalogProduct p = products[slot];
+            if (p == null) continue;
+            liveSlots[n++] = slot;
+            slotBySlug.put(p.slug(), slot);
+            if (p.categoryId() != null) {
+                byCategory.computeIfAbsent(p.categoryId(), c -> new IntList()).add(slot);
+            }
+            if (p.featured()) featured.add(slot);
+            if (p.trending()) trending.add(slot);
+        }
+        Map<String, int[]> slotsByCategory = new HashMap<>(byCategory.size() * 2);
+        byCategory.forEach((category, slots) -> slotsByCategory.put(category, slots.toArray()));
+        this.liveSlots = liveSlots;
+        this.slotBySlug = slotBySlug;
+        this.slotsByCategory = slotsByCategory;
+        this.featuredSlots = featured.toArray();
+        this.trendingSlots = trending.toArray();
+    }
+
+    /** Builds a compact snapshot (no empty slots) of a new generation. */
+    static CatalogSnapshot build(long version, long generation, List<CatalogProduct> loaded) {
+        CatalogProduct[] products = loaded.toArray(new CatalogProduct[0]);
+        Arrays.sort(products, (a, b) -> Long.compare(a.id(), b.id()));
+        long[] ids = new long[products.length];
+        for (int i = 0; i < products.length; i++) {
+            ids[i] = products[i].id();
+        }
+        return new CatalogSnapshot(version, generation, ids, products,
+                SearchIndex.build(products), FacetIndex.build(products), SortIndex.build(products));
+    }
+
+    /**
+     * Returns a copy with the given products replaced or added and the given ids removed, keeping slot numbers.
+     * Returns null when a new product's id is not above every existing id, which would break the id order;
+     * the caller then does a full rebuild.
+     */
+    CatalogSnapshot withChanges(long newVersion, Collection<CatalogProduct> upserts, Collection<Long> removedIds) {
+        List<CatalogProduct> appended = new ArrayList<>();
+        IntList changedSlots = new IntList();
+        CatalogProduct[] products = this.products.clone();
+        for (CatalogProduct p : upserts) {
+            int slot = Arrays.binarySearch(ids, p.id());
+            if (slot >= 0) {
+                products[slot] = p;
+                changedSlots.add(slot);
+            } else {
+                appended.add(p);
+            }
+        }
+        for (Long id : removedIds) {
+            int slot = Arrays.binarySearch(ids, id);
+            if (slot >= 0) {
+                products[slot] = null;
+                changedSlots.add(slot);
+            }
+        }
+        if (appended.isEmpty()) {
+            return derive(newVersion, ids, products, changedSlots.toArray());
+        }
+        appended.sort((a, b) -> Long.compare(a.id(), b.id()));
+        if (ids.length > 0 && appended.get(0).id() <= ids[ids.length - 1]) {
+            return null;
+        }
+        long[] newIds = Arrays.copyOf(ids, ids.length + appended.size());
+        CatalogProduct[] newProducts = Arrays.copyOf(products, products.length + appended.size());
+        for (int i = 0; i < appended.size(); i++) {
+            newIds[ids.length + i] = appended.get(i).id();
+            newProducts[products.length + i] = appended.get(i);
+            changedSlots.add(products.length + i);
+        }
+        return derive(newVersion, newIds, newProducts, changedSlots.toArray());
+    }
+
+    /** Next snapshot of this generation, with the derived indexes updated for the changed slots only. */
+    private CatalogSnapshot derive(long newVersion, long[] newIds, CatalogProduct[] newProducts, int[] changedSlots) {
+        return new CatalogSnapshot(newVersion, generation, newIds, newProducts,
+                searchIndex.withChanges(products, newProducts, changedSlots),
+                facetIndex.withChanges(products, newProducts, changedSlots),
+                sortIndex.withChanges(products, newProducts, changedSlots));
+    }
+
+    /** Increases with every change to the catalog. */
+    public long version() {
+        return version;
+    }
+
+    /** Changes only when slots were renumbered (full reload). */
+    public long generation() {
+        return generation;
+    }
+
+    public int size() {
+        return liveSlots.length;
+    }
+
+    /** Number of slots including empty ones; slot numbers are below this. */
+    public int slotCount() {
+        return products.length;
+    }
+
+    /** Product in the slot, or null if the slot is empty (deleted product). */
+    public CatalogProduct at(int slot) {
+        return products[slot];
+    }
+
+    /** Slot of the product with this id, or -1. */
+    public int slotOf(long id) {
+        int slot = Arrays.binarySearch(ids, id);
+        return slot >= 0 && products[slot] != null ? slot : -1;
+    }
+
+    public CatalogProduct byId(long id) {
+        int slot = slotOf(id);
+        return slot >= 0 ? products[slot] : null;
+    }
+
+    public CatalogProduct bySlug(String slug) {
+        Integer slot = slug != null ? slotBySlug.get(slug) : null;
+        return slot != null ? products[slot] : null;
+    }
+
+    /** Number of products in the category, or in the whole catalog when {@code categoryId} is null or blank. */
+    public int count(String categoryId) {
+        return slots(categoryId).length;
+    }
+
+    /** A page of the category (or whole catalog) in id order. */
+    public List<CatalogProduct> page(String categoryId, long offset, int limit) {
+        return resolve(slots(categoryId), offset, limit);
+    }
+
+    /**
+     * A page of the category (or whole catalog) in the given order, sliced from a precomputed sort order;
+     * {@code sort} null means id order. Ties are broken by id.
+     */
+    public List<CatalogProduct> page(String categoryId, SortOrder sort, long offset, int limit) {
+        if (sort == null) {
+            return page(categoryId, offset, limit);
+        }
+        boolean all = categoryId == null || categoryId.isBlank();
+        int[] slots = sortIndex.page(sort, products, all ? null : slots(categoryId),
+                slot -> categoryId.equals(products[slot].categoryId()), offset, limit);
+        return resolve(slots, 0, slots.length);
+    }
+
+    /**
+     * Up to {@code limit} products of the category (or whole catalog) with an id above {@code afterId}, in id
+     * order. The start is found by binary search, so deep pages cost the same as the first one.
+     */
+    public List<CatalogProduct> pageAfter(String categoryId, long afterId, int limit) {
+        int[] slots = slots(categoryId);
+        int lo = 0;
+        int hi = slots.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ids[slots[mid]] <= afterId) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return resolve(slots, lo, limit);
+    }
+
+    /**
+     * Keyset page in the given order: up to {@code limit} products of the category (or whole catalog) that sort
+     * after the product with sort key {@code afterKey} (its {@link #sortKey}) and id {@code afterId}. The start is
+     * found by binary search in the precomputed order, so deep pages cost the same as the first one.
+     */
+    public List<CatalogProduct> pageAfter(String categoryId, SortOrder sort, int afterKey, long afterId, int limit) {
+        boolean all = categoryId == null || categoryId.isBlank();
+        int[] slots = sortIndex.pageAfter(sort, products, ids, all ? null : slots(categoryId),
+                slot -> categoryId.equals(products[slot].categoryId()), afterKey, afterId, limit);
+        return resolve(slots, 0, slots.length);
+    }
+
+    /** Primary key of the product in {@code sort}; with the id it fixes the product's position in that order. */
+    public static int sortKey(SortOrder sort, CatalogProduct product) {
+        return SortIndex.key(sort, product);
+    }
+
+    public List<CatalogProduct> featured() {
+        return resolve(featuredSlots, 0, featuredSlots.length);
+    }
+
+    public List<CatalogProduct> trending() {
+        return resolve(trendingSlots, 0, trendingSlots.length);
+    }
+
+    /**
+     * Full-text search over name, description and the main highlights, ranked by BM25. Returns the total number
+     * of matching products and the requested page of them, best match first.
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            return new SearchResult(0, List.of());
+        }
+        SearchIndex.SearchResult hits = searchIndex.search(query, offset + limit);
+        int[] slots = hits.slots();
+        if (offset >= slots.length) {
+            return new SearchResult(hits.total(), List.of());
+        }
+        List<CatalogProduct> page = new ArrayList<>(Math.min(limit, slots.length - offset));
+        for (int i = offset; i < slots.length; i++) {
+            page.add(products[slots[i]]);
+        }
+        return new SearchResult(hits.total(), page);
+    }
+
+    /**
+     * Products matching the selected facet values (attribute name to values; values of one attribute are
+     * alternatives, different attributes must all match) in id order, with the facet counts of every attribute.
+     * Attributes are {@code category}, {@code dietaryPreference}, {@code productType}, {@code flavour},
+     * {@code packagingType}, {@code priceBand} (e.g. {@code 100-199}) and {@code rating} ({@code 4+} ... {@code 1+}).
+     */
+    public FilterResult filter(Map<String, ? extends Collection<String>> selected, int offset, int limit) {
+        return filter(selected, null, offset, limit);
+    }
+
+    /** {@link #filter(Map, int, int)} with the matches in the given order ({@code sort} null means id order). */
+    public FilterResult filter(Map<String, ? extends Collection<String>> selected, SortOrder sort, int offset, int limit) {
+        FacetIndex.Result result = facetIndex.filter(selected);
+        SlotBitmap matches = result.matches();
+        int[] slots = matches.toArray();
+        if (sort != null) {
+            int[] page = sortIndex.page(sort, products, slots, matches::contains, Math.max(0, offset), limit);
+            return new FilterResult(slots.length, resolve(page, 0, page.length), result.facets());
+        }
+        return new FilterResult(slots.length, resolve(slots, Math.max(0, offset), limit), result.facets());
+    }
+
+    SearchIndex searchIndex() {
+        return searchIndex;
+    }
+
+    FacetIndex facetIndex() {
+        return facetIndex;
+    }
+
+    SortIndex sortIndex() {
+        return sortIndex;
+    }
+
+    /**
+     * Live slots of the category (or all live slots) in ascending order. The array is shared: callers in this
+     * package must not modify it.
+     */
+    int[] slots(String categoryId) {
+        if (categoryId == null || categoryId.isBlank()) {
+            return liveSlots;
+        }
+        return slotsByCategory.getOrDefault(categoryId, NO_SLOTS);
+    }
+
+    List<CatalogProduct> resolve(int[] slots, long offset, int limit) {
+        if (offset >= slots.length || limit <= 0) {
+            return Collections.emptyList();
+        }
+        int from = (int) offset;
+        int to = (int) Math.min(slots.length, offset + limit);
+        List<CatalogProduct> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(products[slots[i]]);
+        }
+        return result;
+    }
+
+    /** A page of search results and the total number of matches. */
+    public record SearchResult(int total, List<CatalogProduct> products) {}
+
+    /** A page of filtered products, the total number of matches and the facet counts per attribute. */
+    public record FilterResult(int total, List<CatalogProduct> products, Map<String, List<FacetCount>> facets) {}
+
+    public record FacetCount(String value, int count) {}
+
+    /** Listing orders other than the default id order. Descending orders put the highest value first. */
+    public enum SortOrder {
+        PRICE_ASC,
+        PRICE_DESC,
+        /** Average rating, then review count. */
+        RATING,
+        /** Review count, then average rating. */
+        POPULARITY,
+        /** Percentage off {@code originalPrice}; products without a discount come last. */
+        DISCOUNT;
+
+        /**
+         * Parses a request parameter such as {@code price_asc} or {@code rating} (case-insensitive); null or blank
+         * means the default id order and returns null.
+         * @throws IllegalArgumentException for unknown values
+         */
+        public static SortOrder fromParam(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown sort: " + value);
+            }
+        }
+    }
+
+    /** Minimal growable int array for building the slot indexes. */
+    static final class IntList {
+
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
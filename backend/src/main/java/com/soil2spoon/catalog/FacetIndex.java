@@ -0,0 +1,240 @@
+package com.soil2spoon.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable facet index over the slots of a {@link CatalogSnapshot}: one {@link SlotBitmap} per attribute value
+ * (category, dietary preference, product type, flavour, packaging type, price band and minimum rating).
+ * Values are matched case-insensitively. A filter ORs the selected values of an attribute and ANDs the
+ * attributes; each attribute's counts are taken against the filters of the other attributes, so shoppers see
+ * how many products every alternative value would give.
+ * <p>
+ * {@link #withChanges} moves only the changed slots between value bitmaps, copying just the touched chunks.
+ */
+final class FacetIndex {
+
+    static final String CATEGORY = "category";
+    static final String DIETARY_PREFERENCE = "dietaryPreference";
+    static final String PRODUCT_TYPE = "productType";
+    static final String FLAVOUR = "flavour";
+    static final String PACKAGING_TYPE = "packagingType";
+    static final String PRICE_BAND = "priceBand";
+    static final String RATING = "rating";
+
+    static final List<String> ATTRIBUTES = List.of(
+            CATEGORY, DIETARY_PREFERENCE, PRODUCT_TYPE, FLAVOUR, PACKAGING_TYPE, PRICE_BAND, RATING);
+
+    /** Lower bounds of the price bands after the first one, in rupees. */
+    private static final int[] PRICE_BOUNDS = {100, 200, 500, 1000};
+    private static final int[] RATING_THRESHOLDS = {4, 3, 2, 1};
+
+    private final Map<String, Map<String, Value>> values;
+    private final SlotBitmap live;
+
+    private FacetIndex(Map<String, Map<String, Value>> values, SlotBitmap live) {
+        this.values = values;
+        this.live = live;
+    }
+
+    static FacetIndex build(CatalogProduct[] products) {
+        Map<String, Map<String, Builder>> builders = new HashMap<>();
+        CatalogSnapshot.IntList live = new CatalogSnapshot.IntList();
+        for (int slot = 0; slot < products.length; slot++) {
+            CatalogProduct p = products[slot];
+            if (p == null) continue;
+            live.add(slot);
+            for (Map.Entry<String, List<String>> e : valuesOf(p).entrySet()) {
+                Map<String, Builder> byKey = builders.computeIfAbsent(e.getKey(), a -> new HashMap<>());
+                for (String label : e.getValue()) {
+                    byKey.computeIfAbsent(key(label), k -> new Builder(label)).slots.add(slot);
+                }
+            }
+        }
+        Map<String, Map<String, Value>> values = new HashMap<>();
+        builders.forEach((attribute, byKey) -> {
+            Map<String, Value> built = new HashMap<>(byKey.size() * 2);
+            byKey.forEach((k, b) -> built.put(k, new Value(b.label, SlotBitmap.of(b.slots.toArray()))));
+            values.put(attribute, built);
+        });
+        return new FacetIndex(values, SlotBitmap.of(live.toArray()));
+    }
+
+    /** Same contract as {@link SearchIndex#withChanges}. */
+    FacetIndex withChanges(CatalogProduct[] before, CatalogProduct[] after, int[] changedSlots) {
+        Map<String, Map<String, Value>> next = new HashMap<>(values);
+        Map<String, Map<String, Value>> copied = new HashMap<>();
+        SlotBitmap nextLive = live;
+        for (int slot : Arrays.stream(changedSlots).distinct().toArray()) {
+            CatalogProduct old = slot < before.length ? before[slot] : null;
+            if (old != null) {
+                nextLive = nextLive.without(slot);
+                for (Map.Entry<String, List<String>> e : valuesOf(old).entrySet()) {
+                    Map<String, Value> byKey = writable(next, copied, e.getKey());
+                    for (String label : e.getValue()) {
+                        String k = key(label);
+                        Value v = byKey.get(k);
+                        if (v == null) continue;
+                        SlotBitmap reduced = v.slots().without(slot);
+                        if (reduced.isEmpty()) {
+                            byKey.remove(k);
+                        } else {
+                            byKey.put(k, new Value(v.label(), reduced));
+                        }
+                    }
+                }
+            }
+            CatalogProduct current = after[slot];
+            if (current != null) {
+                nextLive = nextLive.with(slot);
+                for (Map.Entry<String, List<String>> e : valuesOf(current).entrySet()) {
+                    Map<String, Value> byKey = writable(next, copied, e.getKey());
+                    for (String label : e.getValue()) {
+                        String k = key(label);
+                        Value v = byKey.get(k);
+                        byKey.put(k, v == null
+                                ? new Value(label, SlotBitmap.of(new int[] {slot}))
+                                : new Value(v.label(), v.slots().with(slot)));
+                    }
+                }
+            }
+        }
+        return new FacetIndex(next, nextLive);
+    }
+
+    /**
+     * Products matching the selection (attribute to selected values; unknown attributes are ignored) and the
+     * facet counts of every attribute.
+     */
+    Result filter(Map<String, ? extends Collection<String>> selected) {
+        Map<String, SlotBitmap> unions = new LinkedHashMap<>();
+        for (String attribute : ATTRIBUTES) {
+            Collection<String> chosen = selected.get(attribute);
+            if (chosen == null || chosen.isEmpty()) continue;
+            Map<String, Value> byKey = values.getOrDefault(attribute, Map.of());
+            SlotBitmap union = SlotBitmap.EMPTY;
+            for (String label : chosen) {
+                Value v = byKey.get(key(label));
+                if (v != null) union = union.or(v.slots());
+            }
+            unions.put(attribute, union);
+        }
+        SlotBitmap matches = live;
+        for (SlotBitmap union : unions.values()) {
+            matches = matches.and(union);
+        }
+        Map<String, List<CatalogSnapshot.FacetCount>> facets = new LinkedHashMap<>();
+        for (String attribute : ATTRIBUTES) {
+            SlotBitmap base = live;
+            for (Map.Entry<String, SlotBitmap> e : unions.entrySet()) {
+                if (!e.getKey().equals(attribute)) base = base.and(e.getValue());
+            }
+            List<CatalogSnapshot.FacetCount> counts = new ArrayList<>();
+            for (Value v : values.getOrDefault(attribute, Map.of()).values()) {
+                int count = v.slots().andCardinality(base);
+                if (count > 0) counts.add(new CatalogSnapshot.FacetCount(v.label(), count));
+            }
+            counts.sort(comparatorFor(attribute));
+            facets.put(attribute, counts);
+        }
+        return new Result(matches, facets);
+    }
+
+    int valueCount() {
+        int n = 0;
+        for (Map<String, Value> byKey : values.values()) n += byKey.size();
+        return n;
+    }
+
+    long estimatedBytes() {
+        long bytes = live.estimatedBytes();
+        for (Map<String, Value> byKey : values.values()) {
+            for (Value v : byKey.values()) bytes += 64 + v.slots().estimatedBytes();
+        }
+        return bytes;
+    }
+
+    private static Map<String, Value> writable(Map<String, Map<String, Value>> next,
+                                               Map<String, Map<String, Value>> copied, String attribute) {
+        return copied.computeIfAbsent(attribute, a -> {
+            Map<String, Value> copy = new HashMap<>(next.getOrDefault(a, Map.of()));
+            next.put(a, copy);
+            return copy;
+        });
+    }
+
+    /** Price bands and ratings keep their natural order; other values are listed by count, then name. */
+    private static Comparator<CatalogSnapshot.FacetCount> comparatorFor(String attribute) {
+        if (PRICE_BAND.equals(attribute)) {
+            return Comparator.comparingInt(c -> Integer.parseInt(c.value().replaceAll("\\D.*", "")));
+        }
+        if (RATING.equals(attribute)) {
+            return Comparator.comparing(CatalogSnapshot.FacetCount::value).reversed();
+        }
+        return Comparator.comparingInt(CatalogSnapshot.FacetCount::count).reversed()
+                .thenComparing(CatalogSnapshot.FacetCount::value, String.CASE_INSENSITIVE_ORDER);
+    }
+
+    private static Map<String, List<String>> valuesOf(CatalogProduct p) {
+        Map<String, List<String>> out = new HashMap<>();
+        putIfPresent(out, CATEGORY, p.categoryId());
+        CatalogProduct.Highlights h = p.highlights();
+        if (h != null) {
+            putIfPresent(out, DIETARY_PREFERENCE, h.dietaryPreference());
+            putIfPresent(out, PRODUCT_TYPE, h.productType());
+            putIfPresent(out, FLAVOUR, h.flavour());
+            putIfPresent(out, PACKAGING_TYPE, h.packagingType());
+        }
+        out.put(PRICE_BAND, List.of(priceBand(p.price())));
+        List<String> ratings = new ArrayList<>();
+        for (int threshold : RATING_THRESHOLDS) {
+            if (p.rating() >= threshold) ratings.add(threshold + "+");
+        }
+        if (!ratings.isEmpty()) {
+            out.put(RATING, ratings);
+        }
+        return out;
+    }
+
+    private static void putIfPresent(Map<String, List<String>> out, String attribute, String value) {
+        if (value != null && !value.isBlank()) {
+            out.put(attribute, List.of(value.trim()));
+        }
+    }
+
+    static String priceBand(int price) {
+        int lower = 0;
+        for (int bound : PRICE_BOUNDS) {
+            if (price < bound) {
+                return lower + "-" + (bound - 1);
+            }
+            lower = bound;
+        }
+        return lower + "+";
+    }
+
+    private static String key(String label) {
+        return label.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Value(String label, SlotBitmap slots) {}
+
+    private static final class Builder {
+        final String label;
+        final CatalogSnapshot.IntList slots = new CatalogSnapshot.IntList();
+
+        Builder(String label) {
+            this.label = label;
+        }
+    }
+
+    /** Matching slots and, per attribute, the values with their counts. */
+    record Result(SlotBitmap matches, Map<String, List<CatalogSnapshot.FacetCount>> facets) {}
+}
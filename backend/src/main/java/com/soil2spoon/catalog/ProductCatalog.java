@@ -0,0 +1,303 @@
+package com.soil2spoon.catalog;
+
+import com.soil2spoon.domain.Category;
+import com.soil2spoon.domain.Product;
+import com.soil2spoon.repository.CategoryRepository;
+import com.soil2spoon.repository.ProductRepository;
+import com.soil2spoon.support.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the current {@link CatalogSnapshot} that serves all public product reads.
+ * The snapshot is loaded once at startup and then kept current from {@link CatalogChangedEvent}s: after the
+ * writing transaction commits, only the changed products are re-read and a new snapshot is built
+ * copy-on-write and published through a volatile field. Writers are serialized; readers never block.
+ * A periodic full reload also picks up changes made outside the application (e.g. manual SQL).
+ * With {@code app.catalog.snapshot.enabled=false} the services read from the database as before.
+ * <p>
+ * The typeahead {@link SuggestIndex} is rebuilt from each new snapshot on a background thread; rebuilds
+ * requested while one is running are coalesced, and suggestions use the last finished index meanwhile.
+ */
+@Component
+@Slf4j
+public class ProductCatalog implements MetricsSource {
+
+    public static final String SUGGEST_PRODUCT = "product";
+    public static final String SUGGEST_FLAVOUR = "flavour";
+    public static final String SUGGEST_CATEGORY = "category";
+    /** Largest useful {@code limit} for {@link #suggest}; the index keeps this many completions per prefix. */
+    public static final int MAX_SUGGESTIONS = SuggestIndex.TOP_K;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate readTransaction;
+    private final boolean enabled;
+
+    private volatile CatalogSnapshot snapshot;
+    private volatile StringPool pool = new StringPool();
+    private long generation;
+    private volatile long lastBuildNanos;
+    /** Catalog version while the snapshot is disabled; otherwise the snapshot's own version is used. */
+    private final AtomicLong changeCount = new AtomicLong(1);
+    /** Versions restart at 1 on every boot, so ETags also carry the start time. */
+    private final String etagPrefix = "\"c" + Long.toString(System.currentTimeMillis(), 36) + "-";
+
+    private final LongAdder incrementalUpdates = new LongAdder();
+    private final LongAdder fullReloads = new LongAdder();
+
+    private volatile Map<String, String> categoryNames = Map.of();
+    private volatile SuggestIndex suggestIndex;
+    private volatile long suggestVersion;
+    private volatile long lastSuggestBuildNanos;
+    private final Object suggestLock = new Object();
+    private final AtomicBoolean suggestRebuildQueued = new AtomicBoolean();
+    private final ExecutorService suggestBuilder =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("catalog-suggest").factory());
+
+    public ProductCatalog(
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.catalog.snapshot.enabled:true}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        // Runs from after-commit callbacks, where the caller's transaction can no longer be joined
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Monotonically increasing version of the public product data. Bumped after every committed product or
+     * review write ({@link CatalogChangedEvent}) and on full reloads.
+     */
+    public long version() {
+        return enabled ? snapshot().version() : changeCount.get();
+    }
+
+    /** Strong ETag for a response built from the given catalog version. */
+    public String etag(long version) {
+        return etagPrefix + version + '"';
+    }
+
+    /** The current snapshot; loads it on first use. */
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = reload();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Typeahead suggestions for the typed text: exact prefix matches of any word in product names, flavours
+     * and category names first, then close misspellings; each group by popularity.
+     */
+    public List<Suggestion> suggest(String typed, int limit) {
+        SuggestIndex index = suggestIndex;
+        if (index == null) {
+            index = rebuildSuggestIndex(); // first request before the background build finished
+        }
+        List<Suggestion> out = new ArrayList<>();
+        for (SuggestIndex.Hit hit : index.suggest(typed, limit)) {
+            out.add(new Suggestion(hit.text(), hit.type(), hit.slug()));
+        }
+        return out;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            reload(); // after startup runners (e.g. dev seeding) have written the catalog
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.snapshot.full-reload-interval-ms:3600000}",
+            initialDelayString = "${app.catalog.snapshot.full-reload-interval-ms:3600000}")
+    public void scheduledReload() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /** Runs before other after-commit listeners of the event, which may rely on the updated snapshot. */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!enabled) {
+            changeCount.incrementAndGet();
+            return;
+        }
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            apply(event.productIds());
+        } catch (RuntimeException e) {
+            log.error("Incremental catalog update failed for products {}; reloading", event.productIds(), e);
+            reload();
+        }
+    }
+
+    /** Rebuilds the whole snapshot from the database with fresh slot numbers. */
+    public synchronized CatalogSnapshot reload() {
+        long start = System.nanoTime();
+        StringPool freshPool = new StringPool();
+        Map<String, String> names = new HashMap<>();
+        List<CatalogProduct> products = readTransaction.execute(status -> {
+            List<CatalogProduct> result = new ArrayList<>();
+            for (Product p : productRepository.findAll()) {
+                result.add(CatalogProduct.from(p, freshPool));
+            }
+            for (Category c : categoryRepository.findAll()) {
+                names.put(c.getId(), c.getName());
+            }
+            return result;
+        });
+        CatalogSnapshot previous = snapshot;
+        CatalogSnapshot next = CatalogSnapshot.build(
+                previous != null ? previous.version() + 1 : 1, ++generation, products != null ? products : List.of());
+        pool = freshPool;
+        categoryNames = Map.copyOf(names);
+        snapshot = next;
+        fullReloads.increment();
+        lastBuildNanos = System.nanoTime() - start;
+        log.debug("Catalog snapshot v{} loaded: {} products", next.version(), next.size());
+        scheduleSuggestRebuild();
+        return next;
+    }
+
+    private synchronized void apply(Set<Long> productIds) {
+        long start = System.nanoTime();
+        CatalogSnapshot base = snapshot;
+        StringPool currentPool = pool;
+        List<CatalogProduct> upserts = readTransaction.execute(status -> {
+            List<CatalogProduct> result = new ArrayList<>();
+            for (Product p : productRepository.findAllById(productIds)) {
+                result.add(CatalogProduct.from(p, currentPool));
+            }
+            return result;
+        });
+        Set<Long> removed = new HashSet<>(productIds);
+        if (upserts != null) {
+            upserts.forEach(p -> removed.remove(p.id()));
+        }
+        CatalogSnapshot next = base.withChanges(base.version() + 1, upserts != null ? upserts : List.of(), removed);
+        if (next == null) {
+            reload();
+            return;
+        }
+        snapshot = next;
+        incrementalUpdates.increment();
+        lastBuildNanos = System.nanoTime() - start;
+        scheduleSuggestRebuild();
+    }
+
+    /** Queues a rebuild unless one is already queued; the queued rebuild will read the newest snapshot. */
+    private void scheduleSuggestRebuild() {
+        if (suggestRebuildQueued.compareAndSet(false, true)) {
+            suggestBuilder.execute(() -> {
+                suggestRebuildQueued.set(false);
+                try {
+                    rebuildSuggestIndex();
+                } catch (RuntimeException e) {
+                    log.error("Suggest index rebuild failed", e);
+                }
+            });
+        }
+    }
+
+    /** Guarded by its own lock so that snapshot writers are not held up while the trie is built. */
+    private SuggestIndex rebuildSuggestIndex() {
+        synchronized (suggestLock) {
+            CatalogSnapshot current = snapshot();
+            SuggestIndex existing = suggestIndex;
+            if (existing != null && suggestVersion == current.version()) {
+                return existing;
+            }
+            long start = System.nanoTime();
+            SuggestIndex built = SuggestIndex.build(current, categoryNames);
+            suggestVersion = current.version();
+            suggestIndex = built;
+            lastSuggestBuildNanos = System.nanoTime() - start;
+            return built;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        suggestBuilder.shutdownNow();
+    }
+
+    @Override
+    public String metricsName() {
+        return "catalogSnapshot";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        CatalogSnapshot current = snapshot;
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("enabled", enabled);
+        m.put("version", current != null ? current.version() : 0);
+        m.put("generation", current != null ? current.generation() : 0);
+        m.put("products", current != null ? current.size() : 0);
+        m.put("slots", current != null ? current.slotCount() : 0);
+        m.put("pooledStrings", pool.size());
+        m.put("searchTerms", current != null ? current.searchIndex().termCount() : 0);
+        m.put("searchPostings", current != null ? current.searchIndex().postingCount() : 0);
+        m.put("searchIndexBytes", current != null ? current.searchIndex().estimatedBytes() : 0);
+        m.put("facetValues", current != null ? current.facetIndex().valueCount() : 0);
+        m.put("facetIndexBytes", current != null ? current.facetIndex().estimatedBytes() : 0);
+        m.put("sortIndexBytes", current != null ? current.sortIndex().estimatedBytes() : 0);
+        SuggestIndex suggest = suggestIndex;
+        m.put("suggestVersion", suggest != null ? suggestVersion : 0);
+        m.put("suggestNodes", suggest != null ? suggest.nodeCount() : 0);
+        m.put("suggestEntries", suggest != null ? suggest.entryCount() : 0);
+        m.put("suggestIndexBytes", suggest != null ? suggest.estimatedBytes() : 0);
+        m.put("lastSuggestBuildMs", lastSuggestBuildNanos / 1_000_000.0);
+        m.put("incrementalUpdates", incrementalUpdates.sum());
+        m.put("fullReloads", fullReloads.sum());
+        m.put("lastBuildMs", lastBuildNanos / 1_000_000.0);
+        return m;
+    }
+
+    /** A typeahead suggestion; {@code slug} is the product slug or category id, null for flavours. */
+    public record Suggestion(String text, String type, String slug) {}
+}
@@ -0,0 +1,330 @@
+package com.soil2spoon.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable BM25 inverted index over the slots of a {@link CatalogSnapshot}.
+ * Each term maps to an {@code int[]} of postings sorted by slot; a posting packs the slot (upper 24 bits) with
+ * the field-weighted term frequency (lower 8 bits), so the index holds no per-posting objects. Name matches
+ * weigh most, then product type and flavour, then key features, ingredients and description.
+ * <p>
+ * {@link #withChanges} derives the next index copy-on-write: only the posting arrays of terms that occur in
+ * the changed products are rebuilt, and all other arrays are shared with the previous index.
+ */
+final class SearchIndex {
+
+    static final int MAX_SLOTS = 1 << 23;
+
+    private static final int TF_BITS = 8;
+    private static final int MAX_TF = (1 << TF_BITS) - 1;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final double COMMON_TERM_RATIO = 0.1;
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int TYPE_WEIGHT = 2;
+    private static final int FLAVOUR_WEIGHT = 2;
+    private static final int TEXT_WEIGHT = 1;
+
+    private static final SearchResult EMPTY = new SearchResult(0, new int[0]);
+
+    private final Map<String, int[]> postings;
+    private final int[] docLengths;
+    private final long totalLength;
+    private final int docCount;
+    private final long postingCount;
+
+    private SearchIndex(Map<String, int[]> postings, int[] docLengths, long totalLength, int docCount) {
+        this.postings = postings;
+        this.docLengths = docLengths;
+        this.totalLength = totalLength;
+        this.docCount = docCount;
+        long count = 0;
+        for (int[] p : postings.values()) {
+            count += p.length;
+        }
+        this.postingCount = count;
+    }
+
+    static SearchIndex build(CatalogProduct[] products) {
+        checkCapacity(products.length);
+        Map<String, CatalogSnapshot.IntList> lists = new HashMap<>();
+        int[] lengths = new int[products.length];
+        long total = 0;
+        int docs = 0;
+        for (int slot = 0; slot < products.length; slot++) {
+            if (products[slot] == null) continue;
+            int length = 0;
+            for (Map.Entry<String, Integer> e : termFrequencies(products[slot]).entrySet()) {
+                lists.computeIfAbsent(e.getKey(), t -> new CatalogSnapshot.IntList()).add(pack(slot, e.getValue()));
+                length += e.getValue();
+            }
+            lengths[slot] = length;
+            total += length;
+            docs++;
+        }
+        Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((term, list) -> postings.put(term, list.toArray()));
+        return new SearchIndex(postings, lengths, total, docs);
+    }
+
+    /**
+     * Index for {@code after}, given that it differs from {@code before} (the products this index was built
+     * from) only in {@code changedSlots} (replaced, emptied or appended slots).
+     */
+    SearchIndex withChanges(CatalogProduct[] before, CatalogProduct[] after, int[] changedSlots) {
+        checkCapacity(after.length);
+        int[] changed = Arrays.stream(changedSlots).sorted().distinct().toArray();
+        int[] lengths = Arrays.copyOf(docLengths, after.length);
+        long total = totalLength;
+        int docs = docCount;
+        Set<String> affected = new HashSet<>();
+        Map<String, CatalogSnapshot.IntList> added = new HashMap<>();
+        for (int slot : changed) {
+            CatalogProduct old = slot < before.length ? before[slot] : null;
+            if (old != null) {
+                affected.addAll(termFrequencies(old).keySet());
+                total -= lengths[slot];
+                lengths[slot] = 0;
+                docs--;
+            }
+            CatalogProduct current = after[slot];
+            if (current != null) {
+                int length = 0;
+                for (Map.Entry<String, Integer> e : termFrequencies(current).entrySet()) {
+                    affected.add(e.getKey());
+                    added.computeIfAbsent(e.getKey(), t -> new CatalogSnapshot.IntList()).add(pack(slot, e.getValue()));
+                    length += e.getValue();
+                }
+                lengths[slot] = length;
+                total += length;
+                docs++;
+            }
+        }
+        Map<String, int[]> next = new HashMap<>(postings);
+        for (String term : affected) {
+            CatalogSnapshot.IntList additions = added.get(term);
+            int[] merged = merge(postings.get(term), changed, additions != null ? additions.toArray() : null);
+            if (merged.length == 0) {
+                next.remove(term);
+            } else {
+                next.put(term, merged);
+            }
+        }
+        return new SearchIndex(next, lengths, total, docs);
+    }
+
+    /**
+     * Ranks the products matching any query term by BM25 and returns the slots of the best {@code limit}
+     * (best first) together with the total number of matches.
+     * <p>
+     * Terms found in more than {@link #COMMON_TERM_RATIO} of the catalog (e.g. "paste" in a catalog of pastes)
+     * carry almost no weight; when the query also has rarer terms, common terms only add to the score of
+     * products the rarer terms matched (looked up by binary search) instead of walking their long posting lists.
+     */
+    SearchResult search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.terms(query));
+        if (terms.isEmpty() || docCount == 0 || limit <= 0) {
+            return EMPTY;
+        }
+        List<int[]> selective = new ArrayList<>();
+        List<int[]> common = new ArrayList<>();
+        for (String term : terms) {
+            int[] list = postings.get(term);
+            if (list != null) {
+                (list.length > docCount * COMMON_TERM_RATIO ? common : selective).add(list);
+            }
+        }
+        if (selective.isEmpty()) {
+            selective = common;
+            common = List.of();
+        }
+        float avgLength = (float) totalLength / docCount;
+        float[] scores = new float[docLengths.length];
+        CatalogSnapshot.IntList touched = new CatalogSnapshot.IntList();
+        for (int[] list : selective) {
+            float idf = idf(list.length);
+            for (int posting : list) {
+                int slot = posting >>> TF_BITS;
+                if (scores[slot] == 0f) {
+                    touched.add(slot);
+                }
+                scores[slot] += termScore(idf, posting & MAX_TF, docLengths[slot], avgLength);
+            }
+        }
+        int[] matches = touched.toArray();
+        for (int[] list : common) {
+            float idf = idf(list.length);
+            for (int slot : matches) {
+                int i = findSlot(list, slot);
+                if (i >= 0) {
+                    scores[slot] += termScore(idf, list[i] & MAX_TF, docLengths[slot], avgLength);
+                }
+            }
+        }
+        return new SearchResult(matches.length, topK(matches, scores, Math.min(limit, matches.length)));
+    }
+
+    private float idf(int documentFrequency) {
+        return (float) Math.log(1 + (docCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static float termScore(float idf, int tf, int docLength, float avgLength) {
+        return idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLength / avgLength));
+    }
+
+    /** Index of the posting for {@code slot} in a slot-sorted posting list, or -1. */
+    private static int findSlot(int[] list, int slot) {
+        int lo = 0;
+        int hi = list.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int midSlot = list[mid] >>> TF_BITS;
+            if (midSlot < slot) {
+                lo = mid + 1;
+            } else if (midSlot > slot) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    long postingCount() {
+        return postingCount;
+    }
+
+    /** Rough heap footprint: posting arrays, document lengths and the term table. */
+    long estimatedBytes() {
+        long bytes = postingCount * Integer.BYTES + (long) docLengths.length * Integer.BYTES;
+        for (String term : postings.keySet()) {
+            bytes += 16 + 24 + 16 + term.length() + 32; // array header, String, byte[] and map entry
+        }
+        return bytes;
+    }
+
+    /** Slots of the {@code k} highest scores, best first; ties go to the lower slot (older product). */
+    private static int[] topK(int[] slots, float[] scores, int k) {
+        int[] heap = new int[k]; // min-heap: the weakest of the current best k at the root
+        int size = 0;
+        for (int slot : slots) {
+            if (size < k) {
+                heap[size] = slot;
+                siftUp(heap, size++, scores);
+            } else if (better(slot, heap[0], scores)) {
+                heap[0] = slot;
+                siftDown(heap, size, scores);
+            }
+        }
+        int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = heap[0];
+            heap[0] = heap[i];
+            siftDown(heap, i, scores);
+        }
+        return result;
+    }
+
+    private static boolean better(int a, int b, float[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int i, float[] scores) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(heap[parent], heap[i], scores)) break;
+            swap(heap, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int weakest = left;
+            int right = left + 1;
+            if (right < size && better(heap[left], heap[right], scores)) {
+                weakest = right;
+            }
+            if (!better(heap[i], heap[weakest], scores)) break;
+            swap(heap, i, weakest);
+            i = weakest;
+        }
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /** Old postings without the changed slots, merged in slot order with the changed slots' new postings. */
+    private static int[] merge(int[] old, int[] changedSorted, int[] additions) {
+        int[] base = old != null ? old : new int[0];
+        int[] add = additions != null ? additions : new int[0];
+        int[] out = new int[base.length + add.length];
+        int n = 0;
+        int j = 0;
+        for (int posting : base) {
+            int slot = posting >>> TF_BITS;
+            if (Arrays.binarySearch(changedSorted, slot) >= 0) continue;
+            while (j < add.length && (add[j] >>> TF_BITS) < slot) {
+                out[n++] = add[j++];
+            }
+            out[n++] = posting;
+        }
+        while (j < add.length) {
+            out[n++] = add[j++];
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private static Map<String, Integer> termFrequencies(CatalogProduct p) {
+        Map<String, Integer> tf = new HashMap<>();
+        addField(tf, p.name(), NAME_WEIGHT);
+        addField(tf, p.description(), TEXT_WEIGHT);
+        CatalogProduct.Highlights h = p.highlights();
+        if (h != null) {
+            addField(tf, h.productType(), TYPE_WEIGHT);
+            addField(tf, h.flavour(), FLAVOUR_WEIGHT);
+            addField(tf, h.keyFeatures(), TEXT_WEIGHT);
+            addField(tf, h.ingredients(), TEXT_WEIGHT);
+        }
+        return tf;
+    }
+
+    private static void addField(Map<String, Integer> tf, String text, int weight) {
+        List<String> terms = new ArrayList<>();
+        TextAnalyzer.terms(text, terms);
+        for (String term : terms) {
+            tf.merge(term, weight, (a, b) -> Math.min(MAX_TF, a + b));
+        }
+    }
+
+    private static int pack(int slot, int tf) {
+        return slot << TF_BITS | Math.min(tf, MAX_TF);
+    }
+
+    private static void checkCapacity(int slots) {
+        if (slots > MAX_SLOTS) {
+            throw new IllegalStateException("Search index supports at most " + MAX_SLOTS + " slots");
+        }
+    }
+
+    /** Total number of matching products and the slots of the requested top results, best first. */
+    record SearchResult(int total, int[] slots) {}
+}
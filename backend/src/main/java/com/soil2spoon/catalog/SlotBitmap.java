@@ -0,0 +1,384 @@
+package com.soil2spoon.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compressed bitmap of snapshot slots, in the style of Roaring bitmaps: slots are split by their
+ * upper 16 bits into chunks of 65536, and each chunk is stored either as a sorted {@code char[]} (up to 4096
+ * members) or as a 1024-word {@code long[]} bit set. Sparse attribute values therefore cost two bytes per
+ * product and dense ones one bit per slot, and AND / OR run per chunk on arrays or whole words.
+ * {@link #with} and {@link #without} copy only the affected chunk.
+ */
+final class SlotBitmap {
+
+    static final SlotBitmap EMPTY = new SlotBitmap(new char[0], new Chunk[0]);
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private final char[] keys;
+    private final Chunk[] chunks;
+    private final int cardinality;
+
+    private SlotBitmap(char[] keys, Chunk[] chunks) {
+        this.keys = keys;
+        this.chunks = chunks;
+        int total = 0;
+        for (Chunk c : chunks) {
+            total += c.cardinality;
+        }
+        this.cardinality = total;
+    }
+
+    /** Bitmap of the given slots, which must be sorted ascending without duplicates. */
+    static SlotBitmap of(int[] sortedSlots) {
+        int chunkCount = 0;
+        for (int i = 0; i < sortedSlots.length; i++) {
+            if (i == 0 || (sortedSlots[i] >>> 16) != (sortedSlots[i - 1] >>> 16)) chunkCount++;
+        }
+        char[] keys = new char[chunkCount];
+        Chunk[] chunks = new Chunk[chunkCount];
+        int c = 0;
+        int start = 0;
+        while (start < sortedSlots.length) {
+            int key = sortedSlots[start] >>> 16;
+            int end = start;
+            while (end < sortedSlots.length && (sortedSlots[end] >>> 16) == key) end++;
+            char[] values = new char[end - start];
+            for (int i = start; i < end; i++) {
+                values[i - start] = (char) sortedSlots[i];
+            }
+            keys[c] = (char) key;
+            chunks[c++] = Chunk.ofSorted(values, values.length);
+            start = end;
+        }
+        return new SlotBitmap(keys, chunks);
+    }
+
+    int cardinality() {
+        return cardinality;
+    }
+
+    boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    boolean contains(int slot) {
+        int i = Arrays.binarySearch(keys, (char) (slot >>> 16));
+        return i >= 0 && chunks[i].contains((char) slot);
+    }
+
+    SlotBitmap with(int slot) {
+        if (contains(slot)) {
+            return this;
+        }
+        char key = (char) (slot >>> 16);
+        int i = Arrays.binarySearch(keys, key);
+        if (i >= 0) {
+            Chunk[] copy = chunks.clone();
+            copy[i] = chunks[i].with((char) slot);
+            return new SlotBitmap(keys, copy);
+        }
+        int at = -i - 1;
+        char[] newKeys = new char[keys.length + 1];
+        Chunk[] newChunks = new Chunk[chunks.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, at);
+        System.arraycopy(chunks, 0, newChunks, 0, at);
+        newKeys[at] = key;
+        newChunks[at] = Chunk.ofSorted(new char[] {(char) slot}, 1);
+        System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+        System.arraycopy(chunks, at, newChunks, at + 1, chunks.length - at);
+        return new SlotBitmap(newKeys, newChunks);
+    }
+
+    SlotBitmap without(int slot) {
+        if (!contains(slot)) {
+            return this;
+        }
+        int i = Arrays.binarySearch(keys, (char) (slot >>> 16));
+        Chunk reduced = chunks[i].without((char) slot);
+        if (reduced.cardinality > 0) {
+            Chunk[] copy = chunks.clone();
+            copy[i] = reduced;
+            return new SlotBitmap(keys, copy);
+        }
+        char[] newKeys = new char[keys.length - 1];
+        Chunk[] newChunks = new Chunk[chunks.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, i);
+        System.arraycopy(chunks, 0, newChunks, 0, i);
+        System.arraycopy(keys, i + 1, newKeys, i, keys.length - i - 1);
+        System.arraycopy(chunks, i + 1, newChunks, i, chunks.length - i - 1);
+        return new SlotBitmap(newKeys, newChunks);
+    }
+
+    SlotBitmap and(SlotBitmap other) {
+        char[] outKeys = new char[Math.min(keys.length, other.keys.length)];
+        Chunk[] outChunks = new Chunk[outKeys.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Chunk c = chunks[i].and(other.chunks[j]);
+                if (c.cardinality > 0) {
+                    outKeys[n] = keys[i];
+                    outChunks[n++] = c;
+                }
+                i++;
+                j++;
+            }
+        }
+        return new SlotBitmap(Arrays.copyOf(outKeys, n), Arrays.copyOf(outChunks, n));
+    }
+
+    SlotBitmap or(SlotBitmap other) {
+        char[] outKeys = new char[keys.length + other.keys.length];
+        Chunk[] outChunks = new Chunk[outKeys.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j >= other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                outKeys[n] = keys[i];
+                outChunks[n++] = chunks[i++];
+            } else if (i >= keys.length || keys[i] > other.keys[j]) {
+                outKeys[n] = other.keys[j];
+                outChunks[n++] = other.chunks[j++];
+            } else {
+                outKeys[n] = keys[i];
+                outChunks[n++] = chunks[i++].or(other.chunks[j++]);
+            }
+        }
+        return new SlotBitmap(Arrays.copyOf(outKeys, n), Arrays.copyOf(outChunks, n));
+    }
+
+    /** Size of the intersection, without materializing it. */
+    int andCardinality(SlotBitmap other) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                total += chunks[i++].andCardinality(other.chunks[j++]);
+            }
+        }
+        return total;
+    }
+
+    /** Members in ascending order. */
+    int[] toArray() {
+        int[] out = new int[cardinality];
+        int n = 0;
+        for (int c = 0; c < chunks.length; c++) {
+            n = chunks[c].copyTo(out, n, keys[c] << 16);
+        }
+        return out;
+    }
+
+    /** Approximate heap footprint of the containers. */
+    long estimatedBytes() {
+        long bytes = 16 + keys.length * 2L + chunks.length * 8L;
+        for (Chunk c : chunks) {
+            bytes += 24 + (c.bits != null ? WORDS * 8L : c.values.length * 2L);
+        }
+        return bytes;
+    }
+
+    /** One 65536-slot chunk: a sorted array ({@code values}) or a bit set ({@code bits}), never both. */
+    private static final class Chunk {
+
+        final char[] values;
+        final long[] bits;
+        final int cardinality;
+
+        private Chunk(char[] values, long[] bits, int cardinality) {
+            this.values = values;
+            this.bits = bits;
+            this.cardinality = cardinality;
+        }
+
+        /** Chooses the representation for {@code count} sorted values held in {@code values}. */
+        static Chunk ofSorted(char[] values, int count) {
+            if (count <= ARRAY_MAX) {
+                return new Chunk(values.length == count ? values : Arrays.copyOf(values, count), null, count);
+            }
+            long[] bits = new long[WORDS];
+            for (int i = 0; i < count; i++) {
+                bits[values[i] >>> 6] |= 1L << values[i];
+            }
+            return new Chunk(null, bits, count);
+        }
+
+        static Chunk ofBits(long[] bits, int count) {
+            if (count > ARRAY_MAX) {
+                return new Chunk(null, bits, count);
+            }
+            char[] values = new char[count];
+            int n = 0;
+            for (int w = 0; w < WORDS; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    values[n++] = (char) (w << 6 | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new Chunk(values, null, count);
+        }
+
+        boolean contains(char v) {
+            return bits != null ? (bits[v >>> 6] & (1L << v)) != 0 : Arrays.binarySearch(values, v) >= 0;
+        }
+
+        Chunk with(char v) {
+            if (bits != null) {
+                long[] copy = bits.clone();
+                copy[v >>> 6] |= 1L << v;
+                return new Chunk(null, copy, cardinality + 1);
+            }
+            int at = -Arrays.binarySearch(values, v) - 1;
+            char[] grown = new char[values.length + 1];
+            System.arraycopy(values, 0, grown, 0, at);
+            grown[at] = v;
+            System.arraycopy(values, at, grown, at + 1, values.length - at);
+            return ofSorted(grown, grown.length);
+        }
+
+        Chunk without(char v) {
+            if (bits != null) {
+                long[] copy = bits.clone();
+                copy[v >>> 6] &= ~(1L << v);
+                return ofBits(copy, cardinality - 1);
+            }
+            int at = Arrays.binarySearch(values, v);
+            char[] shrunk = new char[values.length - 1];
+            System.arraycopy(values, 0, shrunk, 0, at);
+            System.arraycopy(values, at + 1, shrunk, at, values.length - at - 1);
+            return new Chunk(shrunk, null, shrunk.length);
+        }
+
+        Chunk and(Chunk other) {
+            if (bits != null && other.bits != null) {
+                long[] out = new long[WORDS];
+                int count = 0;
+                for (int w = 0; w < WORDS; w++) {
+                    out[w] = bits[w] & other.bits[w];
+                    count += Long.bitCount(out[w]);
+                }
+                return ofBits(out, count);
+            }
+            if (bits != null || other.bits != null) {
+                Chunk array = bits != null ? other : this;
+                Chunk set = bits != null ? this : other;
+                char[] out = new char[array.cardinality];
+                int n = 0;
+                for (char v : array.values) {
+                    if ((set.bits[v >>> 6] & (1L << v)) != 0) out[n++] = v;
+                }
+                return new Chunk(Arrays.copyOf(out, n), null, n);
+            }
+            char[] out = new char[Math.min(cardinality, other.cardinality)];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < values.length && j < other.values.length) {
+                if (values[i] < other.values[j]) {
+                    i++;
+                } else if (values[i] > other.values[j]) {
+                    j++;
+                } else {
+                    out[n++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new Chunk(Arrays.copyOf(out, n), null, n);
+        }
+
+        Chunk or(Chunk other) {
+            if (bits != null || other.bits != null) {
+                long[] out = bits != null ? bits.clone() : new long[WORDS];
+                if (bits == null) {
+                    for (char v : values) out[v >>> 6] |= 1L << v;
+                }
+                if (other.bits != null) {
+                    for (int w = 0; w < WORDS; w++) out[w] |= other.bits[w];
+                } else {
+                    for (char v : other.values) out[v >>> 6] |= 1L << v;
+                }
+                int count = 0;
+                for (long word : out) count += Long.bitCount(word);
+                return ofBits(out, count);
+            }
+            char[] out = new char[cardinality + other.cardinality];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < values.length || j < other.values.length) {
+                if (j >= other.values.length || (i < values.length && values[i] < other.values[j])) {
+                    out[n++] = values[i++];
+                } else if (i >= values.length || values[i] > other.values[j]) {
+                    out[n++] = other.values[j++];
+                } else {
+                    out[n++] = values[i++];
+                    j++;
+                }
+            }
+            return ofSorted(out, n);
+        }
+
+        int andCardinality(Chunk other) {
+            if (bits != null && other.bits != null) {
+                int count = 0;
+                for (int w = 0; w < WORDS; w++) count += Long.bitCount(bits[w] & other.bits[w]);
+                return count;
+            }
+            if (bits != null || other.bits != null) {
+                Chunk array = bits != null ? other : this;
+                Chunk set = bits != null ? this : other;
+                int count = 0;
+                for (char v : array.values) {
+                    if ((set.bits[v >>> 6] & (1L << v)) != 0) count++;
+                }
+                return count;
+            }
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < values.length && j < other.values.length) {
+                if (values[i] < other.values[j]) {
+                    i++;
+                } else if (values[i] > other.values[j]) {
+                    j++;
+                } else {
+                    count++;
+                    i++;
+                    j++;
+                }
+            }
+            return count;
+        }
+
+        int copyTo(int[] out, int n, int high) {
+            if (bits == null) {
+                for (char v : values) out[n++] = high | v;
+                return n;
+            }
+            for (int w = 0; w < WORDS; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    out[n++] = high | (w << 6) | Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.soil2spoon.catalog;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable sort orders over the live slots of a {@link CatalogSnapshot}, one per {@link CatalogSnapshot.SortOrder}.
+ * Each order is a sorted {@code long[]} packing the sort key (upper 32 bits) with the slot (lower 32 bits), so
+ * sorting and merging compare primitives only, ties fall back to the slot (that is, to the product id) and a
+ * page of the whole catalog is a slice of the array. Within one key, slot order is id order, so keyset pages
+ * seek on (key, id) by binary search.
+ * <p>
+ * {@link #withChanges} drops the changed slots from every order and merges their new keys back in, which is
+ * linear in the catalog size and needs no comparison sort of unchanged products.
+ */
+final class SortIndex {
+
+    /** Candidate sets smaller than 1/8 of the catalog are sorted directly instead of filtering a full order. */
+    private static final int WALK_RATIO = 8;
+    private static final int MAX_RATING_CENTS = 1000;
+    private static final int MAX_COUNT = (1 << 20) - 1;
+
+    private static final CatalogSnapshot.SortOrder[] SORTS = CatalogSnapshot.SortOrder.values();
+
+    private final long[][] orders;
+
+    private SortIndex(long[][] orders) {
+        this.orders = orders;
+    }
+
+    static SortIndex build(CatalogProduct[] products) {
+        CatalogSnapshot.IntList live = new CatalogSnapshot.IntList();
+        for (int slot = 0; slot < products.length; slot++) {
+            if (products[slot] != null) live.add(slot);
+        }
+        int[] slots = live.toArray();
+        long[][] orders = new long[SORTS.length][];
+        for (CatalogSnapshot.SortOrder sort : SORTS) {
+            orders[sort.ordinal()] = sortedKeys(sort, products, slots);
+        }
+        return new SortIndex(orders);
+    }
+
+    /** Same contract as {@link SearchIndex#withChanges}. */
+    SortIndex withChanges(CatalogProduct[] before, CatalogProduct[] after, int[] changedSlots) {
+        int[] changed = Arrays.stream(changedSlots).sorted().distinct().toArray();
+        CatalogSnapshot.IntList live = new CatalogSnapshot.IntList();
+        for (int slot : changed) {
+            if (after[slot] != null) live.add(slot);
+        }
+        int[] current = live.toArray();
+        long[][] next = new long[SORTS.length][];
+        for (CatalogSnapshot.SortOrder sort : SORTS) {
+            next[sort.ordinal()] = merge(orders[sort.ordinal()], changed, sortedKeys(sort, after, current));
+        }
+        return new SortIndex(next);
+    }
+
+    /**
+     * Slots of one page in the given order.
+     * @param candidates ascending slots the page is drawn from, or null for all live products
+     * @param member     membership test for {@code candidates}
+     */
+    int[] page(CatalogSnapshot.SortOrder sort, CatalogProduct[] products, int[] candidates, IntPredicate member,
+               long offset, int limit) {
+        long[] order = orders[sort.ordinal()];
+        if (candidates == null || candidates.length == order.length) {
+            return slots(order, offset, limit);
+        }
+        if ((long) candidates.length * WALK_RATIO <= order.length) {
+            return slots(sortedKeys(sort, products, candidates), offset, limit);
+        }
+        if (offset >= candidates.length || limit <= 0) {
+            return new int[0];
+        }
+        int[] out = new int[(int) Math.min(limit, candidates.length - offset)];
+        int n = 0;
+        long skip = offset;
+        for (int i = 0; i < order.length && n < out.length; i++) {
+            int slot = (int) order[i];
+            if (!member.test(slot)) continue;
+            if (skip > 0) {
+                skip--;
+            } else {
+                out[n++] = slot;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Slots of up to {@code limit} products that sort after the product with key {@code afterKey} (see
+     * {@link #key}) and id {@code afterId}, for keyset pagination. That product need not exist any more.
+     * @param ids        product id of each slot
+     * @param candidates ascending slots the page is drawn from, or null for all live products
+     * @param member     membership test for {@code candidates}
+     */
+    int[] pageAfter(CatalogSnapshot.SortOrder sort, CatalogProduct[] products, long[] ids, int[] candidates,
+                    IntPredicate member, int afterKey, long afterId, int limit) {
+        long[] order = orders[sort.ordinal()];
+        if (candidates == null || candidates.length == order.length) {
+            return slots(order, seek(order, ids, afterKey, afterId), limit);
+        }
+        if ((long) candidates.length * WALK_RATIO <= order.length) {
+            long[] sorted = sortedKeys(sort, products, candidates);
+            return slots(sorted, seek(sorted, ids, afterKey, afterId), limit);
+        }
+        if (limit <= 0) {
+            return new int[0];
+        }
+        int[] out = new int[Math.min(limit, candidates.length)];
+        int n = 0;
+        for (int i = seek(order, ids, afterKey, afterId); i < order.length && n < out.length; i++) {
+            int slot = (int) order[i];
+            if (member.test(slot)) {
+                out[n++] = slot;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    long estimatedBytes() {
+        long bytes = 0;
+        for (long[] order : orders) bytes += 16 + (long) order.length * Long.BYTES;
+        return bytes;
+    }
+
+    private static int[] slots(long[] order, long offset, int limit) {
+        if (offset >= order.length || limit <= 0) {
+            return new int[0];
+        }
+        int from = (int) offset;
+        int to = (int) Math.min(order.length, offset + limit);
+        int[] out = new int[to - from];
+        for (int i = from; i < to; i++) {
+            out[i - from] = (int) order[i];
+        }
+        return out;
+    }
+
+    /** Index of the first entry of {@code order} that sorts after (afterKey, afterId). */
+    private static int seek(long[] order, long[] ids, int afterKey, long afterId) {
+        int lo = 0;
+        int hi = order.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int key = (int) (order[mid] >> 32);
+            if (key < afterKey || key == afterKey && ids[(int) order[mid]] <= afterId) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static long[] sortedKeys(CatalogSnapshot.SortOrder sort, CatalogProduct[] products, int[] slots) {
+        long[] keys = new long[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            keys[i] = (long) key(sort, products[slots[i]]) << 32 | slots[i];
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /** Old order without the changed slots, merged with the changed slots' sorted new keys. */
+    private static long[] merge(long[] old, int[] changedSorted, long[] additions) {
+        long[] out = new long[old.length + additions.length];
+        int n = 0;
+        int j = 0;
+        for (long entry : old) {
+            if (Arrays.binarySearch(changedSorted, (int) entry) >= 0) continue;
+            while (j < additions.length && additions[j] < entry) {
+                out[n++] = additions[j++];
+            }
+            out[n++] = entry;
+        }
+        while (j < additions.length) {
+            out[n++] = additions[j++];
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /** Primary sort key; smaller sorts first, so descending orders negate. */
+    static int key(CatalogSnapshot.SortOrder sort, CatalogProduct p) {
+        int ratingCents = (int) Math.max(0, Math.min(MAX_RATING_CENTS, Math.round(p.rating() * 100)));
+        int reviews = Math.max(0, Math.min(MAX_COUNT, p.reviewCount()));
+        return switch (sort) {
+            case PRICE_ASC -> p.price();
+            case PRICE_DESC -> -p.price();
+            case RATING -> -(ratingCents << 20 | reviews);
+            case POPULARITY -> -(reviews << 10 | ratingCents);
+            case DISCOUNT -> -discountBasisPoints(p);
+        };
+    }
+
+    /** Discount off {@code originalPrice} in hundredths of a percent; 0 without a higher original price. */
+    static int discountBasisPoints(CatalogProduct p) {
+        Integer original = p.originalPrice();
+        if (original == null || original <= 0 || original <= p.price()) {
+            return 0;
+        }
+        return (int) ((original - (long) p.price()) * 10_000 / original);
+    }
+}
@@ -0,0 +1,25 @@
+package com.soil2spoon.catalog;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonicalizes strings loaded into the catalog so repeated values (brand, unit, seller details,
+ * category ids, image hosts' URLs...) are stored once. Scoped to the catalog rather than the JVM-wide
+ * intern table; a full reload starts a fresh pool so values no longer in use are dropped.
+ */
+final class StringPool {
+
+    private final ConcurrentHashMap<String, String> pool = new ConcurrentHashMap<>();
+
+    String intern(String s) {
+        if (s == null) {
+            return null;
+        }
+        String existing = pool.putIfAbsent(s, s);
+        return existing != null ? existing : s;
+    }
+
+    int size() {
+        return pool.size();
+    }
+}
@@ -0,0 +1,358 @@
+package com.soil2spoon.catalog;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable typeahead index over product names, flavours and category names.
+ * Every phrase is inserted under its full text and under each word suffix ("ginger garlic paste", "garlic
+ * paste", "paste"), so typing any word of a name finds it. The trie is flattened into primitive arrays:
+ * nodes are numbered breadth-first, each node's outgoing edges are a contiguous, char-sorted range, and each
+ * node stores the ids of its {@link #TOP_K} most popular completions, so an exact prefix costs one walk down
+ * the trie and no ranking work. Popularity is review count + 1, summed over products for flavours and
+ * categories.
+ * <p>
+ * Misspelled prefixes ("garlik") are matched by walking the trie with a Levenshtein row per node and pruning
+ * branches whose row minimum exceeds the allowed edits (1 from 3 characters, 2 from 6).
+ */
+final class SuggestIndex {
+
+    /**
+     * Completions kept per node; at least {@link ProductCatalog#MAX_SUGGESTIONS} so that a full page of exact
+     * prefix matches never gets padded with fuzzy ones. Nodes with fewer completions store only those.
+     */
+    static final int TOP_K = 20;
+
+    private static final int MIN_FUZZY_LENGTH = 3;
+    private static final int TWO_EDITS_LENGTH = 6;
+    private static final int MAX_FUZZY_VISITS = 200_000;
+
+    private final String[] texts;
+    private final String[] types;
+    private final String[] slugs;
+    private final int[] weights;
+
+    private final int[] firstEdge;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] firstTop;
+    private final int[] topEntries;
+
+    private SuggestIndex(String[] texts, String[] types, String[] slugs, int[] weights,
+                         int[] firstEdge, char[] edgeChars, int[] edgeTargets, int[] firstTop, int[] topEntries) {
+        this.texts = texts;
+        this.types = types;
+        this.slugs = slugs;
+        this.weights = weights;
+        this.firstEdge = firstEdge;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.firstTop = firstTop;
+        this.topEntries = topEntries;
+    }
+
+    /** @param categoryNames category id to display name; ids without a name are shown as the id */
+    static SuggestIndex build(CatalogSnapshot snapshot, Map<String, String> categoryNames) {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        for (int slot = 0; slot < snapshot.slotCount(); slot++) {
+            CatalogProduct p = snapshot.at(slot);
+            if (p == null) continue;
+            int popularity = Math.max(0, p.reviewCount()) + 1;
+            addEntry(entries, p.name(), ProductCatalog.SUGGEST_PRODUCT, p.slug(), popularity);
+            if (p.highlights() != null) {
+                addEntry(entries, p.highlights().flavour(), ProductCatalog.SUGGEST_FLAVOUR, null, popularity);
+            }
+            if (p.categoryId() != null) {
+                addEntry(entries, categoryNames.getOrDefault(p.categoryId(), p.categoryId()),
+                        ProductCatalog.SUGGEST_CATEGORY, p.categoryId(), popularity);
+            }
+        }
+        int n = entries.size();
+        String[] texts = new String[n];
+        String[] types = new String[n];
+        String[] slugs = new String[n];
+        int[] weights = new int[n];
+        BuildNode root = new BuildNode();
+        int id = 0;
+        for (Entry e : entries.values()) {
+            texts[id] = e.text;
+            types[id] = e.type;
+            slugs[id] = e.slug;
+            weights[id] = e.weight;
+            String key = normalize(e.text);
+            for (int start = 0; start < key.length(); start++) {
+                if (start == 0 || key.charAt(start - 1) == ' ') {
+                    root.insert(key, start, id);
+                }
+            }
+            id++;
+        }
+        root.computeTop((x, y) -> weights[x] != weights[y] ? Integer.compare(weights[y], weights[x])
+                : texts[x].compareTo(texts[y]));
+        return flatten(root, texts, types, slugs, weights);
+    }
+
+    /** Best completions for the typed text, exact prefix matches first, then by popularity. */
+    List<Hit> suggest(String typed, int limit) {
+        String query = normalize(typed);
+        if (query.isEmpty() || limit <= 0 || texts.length == 0) {
+            return List.of();
+        }
+        Map<Integer, Integer> distanceByEntry = new HashMap<>();
+        int node = walk(query);
+        if (node >= 0) {
+            collectTop(node, 0, distanceByEntry);
+        }
+        if (distanceByEntry.size() < limit && query.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = query.length() >= TWO_EDITS_LENGTH ? 2 : 1;
+            fuzzy(query, maxEdits, distanceByEntry);
+        }
+        List<Integer> ids = new ArrayList<>(distanceByEntry.keySet());
+        ids.sort(Comparator.<Integer>comparingInt(distanceByEntry::get)
+                .thenComparingInt(i -> -weights[i])
+                .thenComparing(i -> texts[i]));
+        List<Hit> hits = new ArrayList<>(Math.min(limit, ids.size()));
+        for (int i = 0; i < ids.size() && hits.size() < limit; i++) {
+            int e = ids.get(i);
+            hits.add(new Hit(texts[e], types[e], slugs[e], distanceByEntry.get(e)));
+        }
+        return hits;
+    }
+
+    int nodeCount() {
+        return firstEdge.length - 1;
+    }
+
+    int entryCount() {
+        return texts.length;
+    }
+
+    /** Trie arrays plus entry strings (shared with the snapshot where possible, counted anyway). */
+    long estimatedBytes() {
+        long bytes = (long) firstEdge.length * 4 + edgeChars.length * 2L + edgeTargets.length * 4L
+                + firstTop.length * 4L + topEntries.length * 4L + weights.length * 4L;
+        for (String text : texts) {
+            bytes += 40 + text.length();
+        }
+        return bytes + (long) texts.length * 3 * 8;
+    }
+
+    private int walk(String query) {
+        int node = 0;
+        for (int i = 0; i < query.length() && node >= 0; i++) {
+            node = child(node, query.charAt(i));
+        }
+        return node;
+    }
+
+    private int child(int node, char c) {
+        int lo = firstEdge[node];
+        int hi = firstEdge[node + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (edgeChars[mid] < c) {
+                lo = mid + 1;
+            } else if (edgeChars[mid] > c) {
+                hi = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    private void collectTop(int node, int distance, Map<Integer, Integer> distanceByEntry) {
+        for (int i = firstTop[node]; i < firstTop[node + 1]; i++) {
+            distanceByEntry.merge(topEntries[i], distance, Math::min);
+        }
+    }
+
+    /** Depth-first walk keeping one Levenshtein row per depth; a node whose last cell is within budget matches. */
+    private void fuzzy(String query, int maxEdits, Map<Integer, Integer> distanceByEntry) {
+        int m = query.length();
+        int[] first = new int[m + 1];
+        for (int j = 0; j <= m; j++) first[j] = j;
+        ArrayDeque<Frame> stack = new ArrayDeque<>();
+        stack.push(new Frame(0, first));
+        int visits = 0;
+        while (!stack.isEmpty() && visits++ < MAX_FUZZY_VISITS) {
+            Frame frame = stack.pop();
+            int[] row = frame.row;
+            if (row[m] <= maxEdits && frame.node != 0) {
+                collectTop(frame.node, row[m], distanceByEntry);
+                if (row[m] == 0) {
+                    continue; // the node's top list already covers its subtree at the best distance
+                }
+            }
+            for (int e = firstEdge[frame.node]; e < firstEdge[frame.node + 1]; e++) {
+                char c = edgeChars[e];
+                int[] next = new int[m + 1];
+                next[0] = row[0] + 1;
+                int best = next[0];
+                for (int j = 1; j <= m; j++) {
+                    int cost = query.charAt(j - 1) == c ? 0 : 1;
+                    next[j] = Math.min(Math.min(next[j - 1] + 1, row[j] + 1), row[j - 1] + cost);
+                    best = Math.min(best, next[j]);
+                }
+                if (best <= maxEdits) {
+                    stack.push(new Frame(edgeTargets[e], next));
+                }
+            }
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                if (space && sb.length() > 0) sb.append(' ');
+                sb.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void addEntry(Map<String, Entry> entries, String text, String type, String slug, int weight) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String key = type + ':' + (ProductCatalog.SUGGEST_PRODUCT.equals(type) ? slug : normalize(text));
+        Entry e = entries.get(key);
+        if (e == null) {
+            entries.put(key, new Entry(text.trim(), type, slug, weight));
+        } else {
+            e.weight += weight;
+        }
+    }
+
+    private static SuggestIndex flatten(BuildNode root, String[] texts, String[] types, String[] slugs, int[] weights) {
+        List<BuildNode> order = new ArrayList<>();
+        ArrayDeque<BuildNode> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            BuildNode node = queue.poll();
+            node.index = order.size();
+            order.add(node);
+            queue.addAll(node.children.values());
+        }
+        int nodes = order.size();
+        int[] firstEdge = new int[nodes + 1];
+        int[] firstTop = new int[nodes + 1];
+        int edges = 0;
+        int tops = 0;
+        for (int i = 0; i < nodes; i++) {
+            firstEdge[i] = edges;
+            firstTop[i] = tops;
+            edges += order.get(i).children.size();
+            tops += order.get(i).top.length;
+        }
+        firstEdge[nodes] = edges;
+        firstTop[nodes] = tops;
+        char[] edgeChars = new char[edges];
+        int[] edgeTargets = new int[edges];
+        int[] topEntries = new int[tops];
+        for (int i = 0; i < nodes; i++) {
+            BuildNode node = order.get(i);
+            int e = firstEdge[i];
+            for (Map.Entry<Character, BuildNode> child : node.children.entrySet()) {
+                edgeChars[e] = child.getKey();
+                edgeTargets[e++] = child.getValue().index;
+            }
+            System.arraycopy(node.top, 0, topEntries, firstTop[i], node.top.length);
+        }
+        return new SuggestIndex(texts, types, slugs, weights, firstEdge, edgeChars, edgeTargets, firstTop, topEntries);
+    }
+
+    /** A suggestion and the number of edits needed to match the typed prefix. */
+    record Hit(String text, String type, String slug, int edits) {}
+
+    private record Frame(int node, int[] row) {}
+
+    private static final class Entry {
+        final String text;
+        final String type;
+        final String slug;
+        int weight;
+
+        Entry(String text, String type, String slug, int weight) {
+            this.text = text;
+            this.type = type;
+            this.slug = slug;
+            this.weight = weight;
+        }
+    }
+
+    /** Pointer-based trie node used only while building; discarded after {@link #flatten}. */
+    private static final class BuildNode {
+        final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        int[] own = new int[0];
+        int[] top;
+        int index;
+
+        void insert(String key, int from, int entry) {
+            BuildNode node = this;
+            for (int i = from; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new BuildNode());
+            }
+            node.own = Arrays.copyOf(node.own, node.own.length + 1);
+            node.own[node.own.length - 1] = entry;
+        }
+
+        /** Post-order: a node's top list is the best of its own entries and its children's top lists. */
+        void computeTop(IntComparator order) {
+            ArrayDeque<BuildNode> stack = new ArrayDeque<>();
+            List<BuildNode> postOrder = new ArrayList<>();
+            stack.push(this);
+            while (!stack.isEmpty()) {
+                BuildNode node = stack.pop();
+                postOrder.add(node);
+                node.children.values().forEach(stack::push);
+            }
+            int[] best = new int[TOP_K];
+            for (int i = postOrder.size() - 1; i >= 0; i--) {
+                BuildNode node = postOrder.get(i);
+                int size = 0;
+                for (int e : node.own) size = offer(best, size, e, order);
+                for (BuildNode child : node.children.values()) {
+                    for (int e : child.top) size = offer(best, size, e, order);
+                }
+                node.top = Arrays.copyOf(best, size);
+                node.own = null;
+            }
+        }
+
+        /** Inserts {@code entry} into the sorted, bounded {@code best} unless present or too weak; returns the size. */
+        private static int offer(int[] best, int size, int entry, IntComparator order) {
+            for (int i = 0; i < size; i++) {
+                if (best[i] == entry) return size;
+            }
+            int pos = size;
+            while (pos > 0 && order.compare(entry, best[pos - 1]) < 0) pos--;
+            if (pos >= TOP_K) return size;
+            int end = Math.min(size, TOP_K - 1);
+            System.arraycopy(best, pos, best, pos + 1, end - pos);
+            best[pos] = entry;
+            return Math.min(size + 1, TOP_K);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IntComparator {
+        int compare(int a, int b);
+    }
+}
@@ -0,0 +1,73 @@
+package com.soil2spoon.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns product text and search queries into index terms: lower-cased runs of letters and digits, common
+ * English stop words dropped and simple plurals folded to one stem ("chilli", "chilly" and "chillies" all
+ * to "chilli", "pastes" to "paste"), so the same rules apply at index and at query time.
+ */
+final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "the", "to", "with");
+
+    private TextAnalyzer() {
+    }
+
+    /** Appends the terms of {@code text} to {@code out}; null text adds nothing. */
+    static void terms(String text, List<String> out) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                String term = normalize(text.substring(start, i));
+                if (term != null) {
+                    out.add(term);
+                }
+            }
+        }
+    }
+
+    static List<String> terms(String text) {
+        List<String> out = new ArrayList<>();
+        terms(text, out);
+        return out;
+    }
+
+    /**
+     * Lower-cases and folds a single word; returns null for stop words. Like Porter's step 1, "-ies" and a
+     * final "y" after a consonant both become "-i", so both spellings of a word share the plural's stem.
+     */
+    static String normalize(String word) {
+        String w = word.toLowerCase(Locale.ROOT);
+        if (STOP_WORDS.contains(w)) {
+            return null;
+        }
+        int n = w.length();
+        if (n > 4 && w.endsWith("ies")) {
+            return w.substring(0, n - 2);
+        }
+        if (n > 3 && w.charAt(n - 1) == 'y' && "aeiouy".indexOf(w.charAt(n - 2)) < 0) {
+            return w.substring(0, n - 1) + "i";
+        }
+        if (n > 3 && w.endsWith("s") && !w.endsWith("ss") && !w.endsWith("us")) {
+            return w.substring(0, n - 1);
+        }
+        return w;
+    }
+}
@@ -2,6 +2,7 @@ package com.soil2spoon.config;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -20,7 +21,9 @@ import com.soil2spoon.domain.User;
 import com.soil2spoon.repository.CartItemRepository;
 import com.soil2spoon.repository.CategoryRepository;
 import com.soil2spoon.repository.OrderRepository;
+import com.soil2spoon.repository.PasswordResetTokenRepository;
 import com.soil2spoon.repository.ProductRepository;
+import com.soil2spoon.repository.RefreshTokenRepository;
 import com.soil2spoon.repository.ReviewRepository;
 import com.soil2spoon.repository.UserRepository;
 
@@ -40,6 +43,8 @@ public class DevDataLoader implements ApplicationRunner {
     private final ReviewRepository reviewRepository;
     private final OrderRepository orderRepository;
     private final CartItemRepository cartItemRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final PasswordEncoder passwordEncoder;
 
     @Override
@@ -49,6 +54,8 @@ public class DevDataLoader implements ApplicationRunner {
             reviewRepository.deleteAll();
             orderRepository.deleteAll();
             cartItemRepository.deleteAll();
+            refreshTokenRepository.deleteAll();
+            passwordResetTokenRepository.deleteAll();
             productRepository.deleteAll();
             userRepository.deleteAll();
             categoryRepository.deleteAll();
@@ -91,7 +98,7 @@ public class DevDataLoader implements ApplicationRunner {
                 .reviewCount(1247)
                 .netQty("1 pack (200 g)")
                 .image(cloudinaryBase + "/garlic-paste_vgxtgb.png")
-                .images(List.of(cloudinaryBase + "/garlic-paste_vgxtgb.png"))
+                .images(new ArrayList<>(List.of(cloudinaryBase + "/garlic-paste_vgxtgb.png")))
                 .fallbackImage(cloudinaryBase + "/garlic-paste_vgxtgb.png")
                 .description("Fresh, pure garlic paste. No preservatives. Perfect for curries, stir-fries and marinades.")
                 .featured(true)
@@ -122,9 +129,9 @@ public class DevDataLoader implements ApplicationRunner {
                 .reviewCount(892)
                 .netQty("1 pack (200 g)")
                 .image(cloudinaryBase + "/ginger-garlic-paste_z7nfu9.png")
-                .images(List.of(
+                .images(new ArrayList<>(List.of(
                         cloudinaryBase + "/ginger-garlic-paste_z7nfu9.png",
-                        cloudinaryBase + "/ginger-garlic-paste_z7nfu9.png"))
+                        cloudinaryBase + "/ginger-garlic-paste_z7nfu9.png")))
                 .fallbackImage(null)
                 .description("Pure garlic and ginger paste. Convenient and authentic flavour.")
                 .featured(true)
@@ -155,7 +162,7 @@ public class DevDataLoader implements ApplicationRunner {
                 .reviewCount(2103)
                 .netQty("1 pack (100 g)")
                 .image(cloudinaryBase + "/garlic-powder_bcxrih.png")
-                .images(List.of(cloudinaryBase + "/garlic-powder_bcxrih.png"))
+                .images(new ArrayList<>(List.of(cloudinaryBase + "/garlic-powder_bcxrih.png")))
                 .fallbackImage(cloudinaryBase + "/garlic-powder_bcxrih.png")
                 .description("Fine garlic powder. Convenient, long-lasting. Sprinkle into any dish.")
                 .featured(true)
@@ -186,7 +193,7 @@ public class DevDataLoader implements ApplicationRunner {
                 .reviewCount(1892)
                 .netQty("1 pack (100 g)")
                 .image(cloudinaryBase + "/red-chilli-powder_upaodo.png")
-                .images(List.of(cloudinaryBase + "/red-chilli-powder_upaodo.png"))
+                .images(new ArrayList<>(List.of(cloudinaryBase + "/red-chilli-powder_upaodo.png")))
                 .fallbackImage(null)
                 .description("Vibrant red chilli powder. Heat and colour for every curry and snack.")
                 .featured(false)
@@ -239,7 +246,10 @@ public class DevDataLoader implements ApplicationRunner {
         ensureAdminUserExists();
     }
 
-    /** Updates product.reviewCount and product.rating from actual reviews in DB. */
+    /**
+     * Updates product.reviewCount and product.rating from actual reviews in DB. The seeded image lists are
+     * mutable copies because merging a managed product rewrites its collections in place.
+     */
     private void updateProductReviewStats(Product product) {
         List<Review> list = reviewRepository.findByProductIdOrderByReviewDateDesc(product.getId());
         int count = list.size();
@@ -247,9 +257,6 @@ public class DevDataLoader implements ApplicationRunner {
                 : list.stream().mapToInt(Review::getRating).average().orElse(0.0);
         product.setReviewCount(count);
         product.setRating(Math.round(avg * 10.0) / 10.0);
-        if (product.getImages() != null) {
-            product.setImages(new java.util.ArrayList<>(product.getImages()));
-        }
         productRepository.save(product);
     }
 
@@ -1,15 +1,23 @@
 package com.soil2spoon.config;
 
+import com.soil2spoon.web.CatalogETagInterceptor;
+import com.soil2spoon.web.ResponseCacheInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.Arrays;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final CatalogETagInterceptor catalogETagInterceptor;
+    private final ResponseCacheInterceptor responseCacheInterceptor;
+
     @Value("${app.cors.allowed-origins:http://localhost:5173}")
     private String allowedOrigins;
 
@@ -24,4 +32,16 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    /**
+     * Public, user-independent GET routes. Product routes are revalidated against the catalog version first
+     * (304 without touching the cache); all of them are then served from the response body cache.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(catalogETagInterceptor)
+                .addPathPatterns("/api/products", "/api/products/*");
+        registry.addInterceptor(responseCacheInterceptor)
+                .addPathPatterns("/api/products", "/api/products/*", "/api/categories", "/api/faqs", "/api/content/*");
+    }
 }
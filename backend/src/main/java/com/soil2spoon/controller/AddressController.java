@@ -2,12 +2,12 @@ package com.soil2spoon.controller;
 
 import com.soil2spoon.dto.AddressRequest;
 import com.soil2spoon.dto.AddressResponse;
+import com.soil2spoon.security.AuthenticatedUser;
 import com.soil2spoon.service.AddressService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,18 +21,18 @@ public class AddressController {
     private final AddressService addressService;
 
     @GetMapping
-    public ResponseEntity<List<AddressResponse>> getAddresses(@AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) return ResponseEntity.status(401).build();
-        return ResponseEntity.ok(addressService.getAddresses(userDetails.getUsername()));
+    public ResponseEntity<List<AddressResponse>> getAddresses(@AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(addressService.getAddresses(user.getUserId()));
     }
 
     @PostMapping
     public ResponseEntity<?> createAddress(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestBody AddressRequest request) {
-        if (userDetails == null) return ResponseEntity.status(401).build();
+        if (user == null) return ResponseEntity.status(401).build();
         try {
-            AddressResponse created = addressService.createAddress(userDetails.getUsername(), request);
+            AddressResponse created = addressService.createAddress(user.getUserId(), request);
             return ResponseEntity.status(HttpStatus.CREATED).body(created);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
@@ -41,12 +41,12 @@ public class AddressController {
 
     @PutMapping("/{id}")
     public ResponseEntity<?> updateAddress(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id,
             @RequestBody AddressRequest request) {
-        if (userDetails == null) return ResponseEntity.status(401).build();
+        if (user == null) return ResponseEntity.status(401).build();
         try {
-            AddressResponse updated = addressService.updateAddress(userDetails.getUsername(), id, request);
+            AddressResponse updated = addressService.updateAddress(user.getUserId(), id, request);
             return ResponseEntity.ok(updated);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
@@ -55,11 +55,11 @@ public class AddressController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteAddress(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id) {
-        if (userDetails == null) return ResponseEntity.status(401).build();
+        if (user == null) return ResponseEntity.status(401).build();
         try {
-            addressService.deleteAddress(userDetails.getUsername(), id);
+            addressService.deleteAddress(user.getUserId(), id);
             return ResponseEntity.noContent().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
@@ -0,0 +1,30 @@
+package com.soil2spoon.controller;
+
+import com.soil2spoon.service.AddressImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/admin/addresses")
+@RequiredArgsConstructor
+public class AdminAddressController {
+
+    private final AddressImportService addressImportService;
+
+    /**
+     * Imports addresses from an NDJSON body (one {@code AddressImportLine} per line) and streams one
+     * {@code AddressImportResult} per line back as NDJSON while the import runs.
+     */
+    @PostMapping(value = "/import", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importAddresses(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        addressImportService.importAddresses(request.getInputStream(), response.getOutputStream());
+    }
+}
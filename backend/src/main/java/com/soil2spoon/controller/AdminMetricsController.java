@@ -0,0 +1,29 @@
+package com.soil2spoon.controller;
+
+import com.soil2spoon.support.MetricsSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/api/admin/metrics")
+@RequiredArgsConstructor
+public class AdminMetricsController {
+
+    private final List<MetricsSource> sources;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        Map<String, Object> body = new TreeMap<>();
+        for (MetricsSource source : sources) {
+            body.put(source.metricsName(), source.metrics());
+        }
+        return ResponseEntity.ok(body);
+    }
+}
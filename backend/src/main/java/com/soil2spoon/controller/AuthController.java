@@ -3,16 +3,19 @@ package com.soil2spoon.controller;
 import com.soil2spoon.dto.AuthResponse;
 import com.soil2spoon.dto.ForgotPasswordRequest;
 import com.soil2spoon.dto.LoginRequest;
+import com.soil2spoon.dto.RefreshTokenRequest;
 import com.soil2spoon.dto.ResetPasswordRequest;
 import com.soil2spoon.dto.SignupRequest;
 import com.soil2spoon.dto.UserResponse;
+import com.soil2spoon.security.AuthenticatedUser;
 import com.soil2spoon.service.AuthService;
+import com.soil2spoon.support.ServiceBusyException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -35,6 +38,8 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (ServiceBusyException e) {
+            return tooManyRequests(e);
         }
     }
 
@@ -46,16 +51,33 @@ public class AuthController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("message", e.getMessage()));
+        } catch (ServiceBusyException e) {
+            return tooManyRequests(e);
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.logout(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/me")
-    public ResponseEntity<UserResponse> me(@AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) {
+    public ResponseEntity<UserResponse> me(@AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        UserResponse user = authService.getCurrentUser(userDetails.getUsername());
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(authService.getCurrentUser(user.getUserId()));
     }
 
     @PostMapping("/forgot-password")
@@ -74,6 +96,14 @@ public class AuthController {
             return ResponseEntity.ok(Map.of("message", "Password has been reset. You can sign in with your new password."));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (ServiceBusyException e) {
+            return tooManyRequests(e);
         }
     }
+
+    private static ResponseEntity<Map<String, String>> tooManyRequests(ServiceBusyException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("message", e.getMessage()));
+    }
 }
@@ -2,12 +2,12 @@ package com.soil2spoon.controller;
 
 import com.soil2spoon.dto.CartItemRequest;
 import com.soil2spoon.dto.CartItemResponse;
+import com.soil2spoon.security.AuthenticatedUser;
 import com.soil2spoon.service.CartService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -24,20 +24,20 @@ public class CartController {
     private final CartService cartService;
 
     @GetMapping
-    public ResponseEntity<List<CartItemResponse>> getCart(@AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) {
+    public ResponseEntity<List<CartItemResponse>> getCart(@AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
             return ResponseEntity.status(401).build();
         }
-        return ResponseEntity.ok(cartService.getCart(userDetails.getUsername()));
+        return ResponseEntity.ok(cartService.getCart(user.getUserId()));
     }
 
     @PutMapping
     public ResponseEntity<List<CartItemResponse>> setCart(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @Valid @RequestBody List<CartItemRequest> items) {
-        if (userDetails == null) {
+        if (user == null) {
             return ResponseEntity.status(401).build();
         }
-        return ResponseEntity.ok(cartService.setCart(userDetails.getUsername(), items));
+        return ResponseEntity.ok(cartService.setCart(user.getUserId(), items));
     }
 }
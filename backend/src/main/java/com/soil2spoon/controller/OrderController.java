@@ -2,11 +2,11 @@ package com.soil2spoon.controller;
 
 import com.soil2spoon.dto.CreateOrderRequest;
 import com.soil2spoon.dto.OrderResponse;
+import com.soil2spoon.security.AuthenticatedUser;
 import com.soil2spoon.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -25,13 +25,13 @@ public class OrderController {
 
     @PostMapping
     public ResponseEntity<?> createOrder(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestBody(required = false) CreateOrderRequest body) {
-        if (userDetails == null) {
+        if (user == null) {
             return ResponseEntity.status(401).build();
         }
         try {
-            OrderResponse order = orderService.createOrder(userDetails.getUsername(), body != null ? body : new CreateOrderRequest());
+            OrderResponse order = orderService.createOrder(user.getUserId(), body != null ? body : new CreateOrderRequest());
             return ResponseEntity.status(201).body(order);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
@@ -39,10 +39,10 @@ public class OrderController {
     }
 
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getOrders(@AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) {
+    public ResponseEntity<List<OrderResponse>> getOrders(@AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
             return ResponseEntity.status(401).build();
         }
-        return ResponseEntity.ok(orderService.getOrders(userDetails.getUsername()));
+        return ResponseEntity.ok(orderService.getOrders(user.getUserId()));
     }
 }
@@ -1,19 +1,22 @@
 package com.soil2spoon.controller;
 
+import com.soil2spoon.dto.CursorPageResponse;
 import com.soil2spoon.dto.ProductResponse;
+import com.soil2spoon.dto.ProductSearchResponse;
+import com.soil2spoon.dto.ProductSummaryResponse;
 import com.soil2spoon.dto.ReviewRequest;
 import com.soil2spoon.dto.ReviewResponse;
+import com.soil2spoon.security.AuthenticatedUser;
 import com.soil2spoon.service.ProductService;
 import com.soil2spoon.service.ReviewService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -34,42 +37,112 @@ public class ProductController {
     private final ProductService productService;
     private final ReviewService reviewService;
 
+    /**
+     * Offset pages by default. Passing {@code cursor} (empty for the first page) switches to keyset pagination:
+     * the response is a {@link CursorPageResponse} with a {@code nextCursor} and no total count.
+     * {@code view=summary} returns {@link ProductSummaryResponse} cards instead of full products.
+     * {@code sort} ({@code price_asc}, {@code price_desc}, {@code rating}, {@code popularity} or {@code discount})
+     * orders either kind of page; a cursor only continues the sort it was issued for.
+     */
     @GetMapping
-    public ResponseEntity<Page<ProductResponse>> getAll(
+    public ResponseEntity<?> getAll(
             @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String sort) {
+        boolean summary = isSummary(view);
+        try {
+            if (cursor != null) {
+                return ResponseEntity.ok(summary
+                        ? productService.findSummariesAfter(category, sort, cursor, size)
+                        : productService.findAfter(category, sort, cursor, size));
+            }
+            Pageable pageable = PageRequest.of(page, size);
+            return ResponseEntity.ok(summary
+                    ? productService.findAllSummaries(category, sort, pageable)
+                    : productService.findAll(category, sort, pageable));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/count")
+    public ResponseEntity<Map<String, Long>> count(@RequestParam(required = false) String category) {
+        return ResponseEntity.ok(Map.of("count", productService.count(category)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResponse> search(
+            @RequestParam(name = "q", required = false) String query,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(productService.findAll(category, pageable));
+        return ResponseEntity.ok(productService.search(query, page, size));
+    }
+
+    /** Typeahead suggestions for the search box, e.g. {@code ?q=garlik} finds "Garlic Paste". */
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(
+            @RequestParam(name = "q", required = false) String query,
+            @RequestParam(defaultValue = "8") int limit) {
+        try {
+            return ResponseEntity.ok(productService.suggest(query, limit));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Faceted filtering. Facet attributes are passed as repeatable query parameters: {@code category},
+     * {@code dietaryPreference}, {@code productType}, {@code flavour}, {@code packagingType},
+     * {@code priceBand} (e.g. {@code 100-199}, {@code 1000+}) and {@code rating} (e.g. {@code 4+}).
+     * {@code sort} orders the matches as on {@link #getAll}.
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<?> filter(
+            @RequestParam MultiValueMap<String, String> params,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(productService.filter(params, sort, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("message", e.getMessage()));
+        }
     }
 
     @GetMapping("/featured")
-    public ResponseEntity<List<ProductResponse>> getFeatured() {
-        return ResponseEntity.ok(productService.findFeatured());
+    public ResponseEntity<List<?>> getFeatured(@RequestParam(required = false) String view) {
+        return ResponseEntity.ok(isSummary(view) ? productService.findFeaturedSummaries() : productService.findFeatured());
     }
 
     @GetMapping("/trending")
-    public ResponseEntity<List<ProductResponse>> getTrending() {
-        return ResponseEntity.ok(productService.findTrending());
+    public ResponseEntity<List<?>> getTrending(@RequestParam(required = false) String view) {
+        return ResponseEntity.ok(isSummary(view) ? productService.findTrendingSummaries() : productService.findTrending());
     }
 
     @GetMapping("/{productId}/reviews")
     public ResponseEntity<List<ReviewResponse>> getReviews(
             @PathVariable Long productId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        String currentUserEmail = userDetails != null ? userDetails.getUsername() : null;
-        return ResponseEntity.ok(reviewService.findByProductId(productId, currentUserEmail));
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        Long currentUserId = user != null ? user.getUserId() : null;
+        return ResponseEntity.ok(reviewService.findByProductId(productId, currentUserId));
     }
 
     @PostMapping("/{productId}/reviews")
     public ResponseEntity<ReviewResponse> createReview(
             @PathVariable Long productId,
             @Valid @RequestBody ReviewRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null || userDetails.getUsername() == null) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        ReviewResponse created = reviewService.create(productId, request, userDetails.getUsername());
+        ReviewResponse created = reviewService.create(productId, request, user.getUserId(), user.getEmail());
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
@@ -78,18 +151,41 @@ public class ProductController {
             @PathVariable Long productId,
             @PathVariable Long reviewId,
             @Valid @RequestBody ReviewRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null || userDetails.getUsername() == null) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         try {
-            ReviewResponse updated = reviewService.update(productId, reviewId, request, userDetails.getUsername());
+            ReviewResponse updated = reviewService.update(productId, reviewId, request, user.getUserId());
             return ResponseEntity.ok(updated);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", e.getMessage()));
         }
     }
 
+    /**
+     * Multi-get: {@code ids=1,2,3} or {@code slugs=a,b} (at most {@link ProductService#MAX_BATCH_SIZE}), returned
+     * in request order with unknown ones left out. {@code view=summary} returns cards.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<?> getBatch(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) List<String> slugs,
+            @RequestParam(required = false) String view) {
+        if ((ids == null) == (slugs == null)) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Pass either ids or slugs"));
+        }
+        boolean summary = isSummary(view);
+        try {
+            if (ids != null) {
+                return ResponseEntity.ok(summary ? productService.findSummariesByIds(ids) : productService.findByIds(ids));
+            }
+            return ResponseEntity.ok(summary ? productService.findSummariesBySlugs(slugs) : productService.findBySlugs(slugs));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @GetMapping("/{slug}")
     public ResponseEntity<ProductResponse> getBySlug(@PathVariable String slug) {
         ProductResponse product = productService.findBySlug(slug);
@@ -98,4 +194,8 @@ public class ProductController {
         }
         return ResponseEntity.ok(product);
     }
+
+    private static boolean isSummary(String view) {
+        return "summary".equalsIgnoreCase(view);
+    }
 }
@@ -9,6 +9,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -24,7 +25,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_verification_due", columnList = "status, next_verification_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -51,6 +54,15 @@ public class Order {
     @Builder.Default
     private OrderStatus status = OrderStatus.PENDING;
 
+    /** Geocoder checks started for this order while PENDING_VERIFICATION. */
+    @Column(name = "verification_attempts", nullable = false)
+    @Builder.Default
+    private Integer verificationAttempts = 0;
+
+    /** When the retry sweep may check this order next; null unless the order is PENDING_VERIFICATION. */
+    @Column(name = "next_verification_at")
+    private Instant nextVerificationAt;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<OrderItem> items = new ArrayList<>();
@@ -74,6 +86,10 @@ public class Order {
 
     public enum OrderStatus {
         PENDING,
+        /** Accepted after local address checks; waiting for the asynchronous geocoder check. */
+        PENDING_VERIFICATION,
+        /** The geocoder rejected the shipping address; needs follow-up with the customer. */
+        VERIFICATION_FAILED,
         CONFIRMED,
         SHIPPED,
         DELIVERED,
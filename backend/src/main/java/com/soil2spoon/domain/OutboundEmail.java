@@ -0,0 +1,79 @@
+package com.soil2spoon.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Outbox row for an email to be delivered by the background dispatcher.
+ * Written in the same transaction as the business change that triggers it, so no SMTP work
+ * happens while a request holds a database connection.
+ * The body is cleared as soon as the email is SENT or FAILED, because it may carry a live password reset link;
+ * finished rows are deleted after a retention period by {@code OutboundEmailSweeper}.
+ */
+@Entity
+@Table(name = "outbound_emails", indexes = {
+        @Index(name = "idx_outbound_emails_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbound_emails_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboundEmail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "to_address", nullable = false, length = 255)
+    private String toAddress;
+
+    @Column(nullable = false, length = 255)
+    private String subject;
+
+    /** Null once the email is no longer PENDING. */
+    @Column(name = "html_body", length = 10000)
+    private String htmlBody;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+
+    public enum Status {
+        PENDING,
+        SENT,
+        FAILED
+    }
+}
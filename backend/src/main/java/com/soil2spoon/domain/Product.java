@@ -9,20 +9,25 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OrderColumn;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category_id", columnList = "category_id, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -62,8 +67,15 @@ public class Product {
     @Column(length = 2000)
     private String image;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    /**
+     * Loaded on first access, for up to 100 products per query, so listings and cart lookups no longer run one
+     * images query per product. The order column makes this an indexed list: changing, appending or removing
+     * an entry in place updates only the affected rows instead of deleting and reinserting the collection.
+     */
+    @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "product_images", joinColumns = @JoinColumn(name = "product_id"))
+    @OrderColumn(name = "image_index")
     @Column(name = "url", length = 2000)
     @Builder.Default
     private List<String> images = new ArrayList<>();
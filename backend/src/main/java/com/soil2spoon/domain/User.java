@@ -46,10 +46,4 @@ public class User {
 
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
-
-    @Column(name = "reset_token", length = 255)
-    private String resetToken;
-
-    @Column(name = "reset_token_expiry")
-    private Instant resetTokenExpiry;
 }
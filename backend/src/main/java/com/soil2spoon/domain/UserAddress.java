@@ -6,9 +6,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -16,7 +18,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "user_addresses")
+@Table(name = "user_addresses", indexes = {
+        @Index(name = "idx_user_addresses_user", columnList = "user_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = UserAddress.DEFAULT_SLOT_CONSTRAINT, columnNames = "default_user_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,6 +30,9 @@ import lombok.Setter;
 @Builder
 public class UserAddress {
 
+    /** Unique constraint behind {@link #defaultUserId}. */
+    public static final String DEFAULT_SLOT_CONSTRAINT = "uk_user_addresses_default_user_id";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -56,4 +65,29 @@ public class UserAddress {
     @Column(name = "is_default", nullable = false)
     @Builder.Default
     private Boolean isDefault = false;
+
+    /**
+     * The owner's id while this is the default address, otherwise null. The unique constraint on this column
+     * is the portable form of a partial unique index on (user_id) WHERE is_default: it allows any number of
+     * non-default rows but at most one default per user, even under concurrent updates. Set via {@link #markDefault}.
+     */
+    @Column(name = "default_user_id")
+    private Long defaultUserId;
+
+    /** True when the address was saved while the geocoder was unavailable and has not been verified remotely. */
+    @Column(name = "verification_pending", nullable = false)
+    @Builder.Default
+    private Boolean verificationPending = false;
+
+    /**
+     * Why the geocoder rejected a pending address on re-verification ({@link com.soil2spoon.service.AddressReverifier});
+     * null otherwise. Cleared whenever the owner edits the address.
+     */
+    @Column(name = "verification_error", length = 500)
+    private String verificationError;
+
+    public void markDefault(boolean isDefault, Long userId) {
+        this.isDefault = isDefault;
+        this.defaultUserId = isDefault ? userId : null;
+    }
 }
@@ -0,0 +1,27 @@
+package com.soil2spoon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One NDJSON line of an address import: the owner (by id or email) plus the address fields. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddressImportLine {
+
+    private Long userId;
+    private String userEmail;
+    private String name;
+    private String phone;
+    private String addressLine1;
+    private String addressLine2;
+    private String city;
+    private String state;
+    private String pincode;
+    private Boolean isDefault;
+
+    public AddressRequest toAddressRequest() {
+        return new AddressRequest(name, phone, addressLine1, addressLine2, city, state, pincode, isDefault);
+    }
+}
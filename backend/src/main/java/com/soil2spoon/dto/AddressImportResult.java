@@ -0,0 +1,34 @@
+package com.soil2spoon.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Outcome of one import line, streamed back as NDJSON. {@code line} is 1-based. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AddressImportResult {
+
+    public enum Status { CREATED, DUPLICATE, INVALID }
+
+    private int line;
+    private Status status;
+    private Long addressId;
+    private Boolean verificationPending;
+    private String message;
+
+    public static AddressImportResult created(int line, Long addressId, boolean verificationPending) {
+        return new AddressImportResult(line, Status.CREATED, addressId, verificationPending, null);
+    }
+
+    public static AddressImportResult duplicate(int line) {
+        return new AddressImportResult(line, Status.DUPLICATE, null, null, "Same address already exists for this user");
+    }
+
+    public static AddressImportResult invalid(int line, String message) {
+        return new AddressImportResult(line, Status.INVALID, null, null, message);
+    }
+}
@@ -21,6 +21,8 @@ public class AddressResponse {
     private String state;
     private String pincode;
     private Boolean isDefault;
+    private Boolean verificationPending;
+    private String verificationError;
 
     public static AddressResponse from(UserAddress a) {
         if (a == null) return null;
@@ -34,6 +36,8 @@ public class AddressResponse {
                 .state(a.getState())
                 .pincode(a.getPincode())
                 .isDefault(Boolean.TRUE.equals(a.getIsDefault()))
+                .verificationPending(Boolean.TRUE.equals(a.getVerificationPending()))
+                .verificationError(a.getVerificationError())
                 .build();
     }
 }
@@ -13,12 +13,15 @@ public class AuthResponse {
 
     private String token;
     private String type;
+    /** Long-lived, single-use token for POST /api/auth/refresh; replaced on every refresh. */
+    private String refreshToken;
     private UserResponse user;
 
-    public static AuthResponse of(String token, UserResponse user) {
+    public static AuthResponse of(String token, String refreshToken, UserResponse user) {
         return AuthResponse.builder()
                 .token(token)
                 .type("Bearer")
+                .refreshToken(refreshToken)
                 .user(user)
                 .build();
     }
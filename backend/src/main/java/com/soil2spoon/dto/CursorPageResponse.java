@@ -0,0 +1,20 @@
+package com.soil2spoon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** One page of a keyset-paginated listing. There is no total; see the matching count endpoint. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+
+    private List<T> items;
+    /** Opaque cursor to request the next page with; null on the last page. */
+    private String nextCursor;
+}
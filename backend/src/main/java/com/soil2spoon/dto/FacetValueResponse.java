@@ -0,0 +1,17 @@
+package com.soil2spoon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetValueResponse {
+
+    private String value;
+    /** Products with this value that also match the filters on the other attributes. */
+    private int count;
+}
@@ -0,0 +1,22 @@
+package com.soil2spoon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductFilterResponse {
+
+    /** Number of products matching all filters. */
+    private long total;
+    private List<ProductSummaryResponse> items;
+    /** Per attribute (category, dietaryPreference, productType, flavour, packagingType, priceBand, rating). */
+    private Map<String, List<FacetValueResponse>> facets;
+}
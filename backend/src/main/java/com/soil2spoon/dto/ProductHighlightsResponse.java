@@ -1,5 +1,6 @@
 package com.soil2spoon.dto;
 
+import com.soil2spoon.catalog.CatalogProduct;
 import com.soil2spoon.domain.ProductHighlights;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -38,4 +39,20 @@ public class ProductHighlightsResponse {
                 .packagingType(h.getPackagingType())
                 .build();
     }
+
+    public static ProductHighlightsResponse from(CatalogProduct.Highlights h) {
+        if (h == null) return null;
+        return ProductHighlightsResponse.builder()
+                .brand(h.brand())
+                .productType(h.productType())
+                .dietaryPreference(h.dietaryPreference())
+                .keyFeatures(h.keyFeatures())
+                .flavour(h.flavour())
+                .ingredients(h.ingredients())
+                .allergenInformation(h.allergenInformation())
+                .weight(h.weight())
+                .unit(h.unit())
+                .packagingType(h.packagingType())
+                .build();
+    }
 }
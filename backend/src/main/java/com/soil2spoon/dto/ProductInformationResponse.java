@@ -1,5 +1,6 @@
 package com.soil2spoon.dto;
 
+import com.soil2spoon.catalog.CatalogProduct;
 import com.soil2spoon.domain.ProductInformation;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -34,4 +35,18 @@ public class ProductInformationResponse {
                 .shelfLife(info.getShelfLife())
                 .build();
     }
+
+    public static ProductInformationResponse from(CatalogProduct.Information info) {
+        if (info == null) return null;
+        return ProductInformationResponse.builder()
+                .disclaimer(info.disclaimer())
+                .customerCareDetails(info.customerCareDetails())
+                .sellerName(info.sellerName())
+                .sellerAddress(info.sellerAddress())
+                .sellerLicenseNo(info.sellerLicenseNo())
+                .manufacturerName(info.manufacturerName())
+                .countryOfOrigin(info.countryOfOrigin())
+                .shelfLife(info.shelfLife())
+                .build();
+    }
 }
@@ -1,5 +1,6 @@
 package com.soil2spoon.dto;
 
+import com.soil2spoon.catalog.CatalogProduct;
 import com.soil2spoon.domain.Product;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -54,4 +55,27 @@ public class ProductResponse {
                 .information(ProductInformationResponse.from(p.getInformation()))
                 .build();
     }
+
+    public static ProductResponse from(CatalogProduct p) {
+        if (p == null) return null;
+        return ProductResponse.builder()
+                .id(String.valueOf(p.id()))
+                .name(p.name())
+                .slug(p.slug())
+                .price(p.price())
+                .originalPrice(p.originalPrice())
+                .category(p.categoryId())
+                .rating(p.rating())
+                .reviewCount(p.reviewCount())
+                .netQty(p.netQty())
+                .image(p.image())
+                .images(p.images())
+                .fallbackImage(p.fallbackImage())
+                .description(p.description())
+                .featured(p.featured())
+                .trending(p.trending())
+                .highlights(ProductHighlightsResponse.from(p.highlights()))
+                .information(ProductInformationResponse.from(p.information()))
+                .build();
+    }
 }
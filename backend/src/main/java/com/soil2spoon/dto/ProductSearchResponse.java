@@ -0,0 +1,21 @@
+package com.soil2spoon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSearchResponse {
+
+    private String query;
+    /** Number of matching products across all pages. */
+    private long total;
+    /** The requested page of matches, best match first. */
+    private List<ProductSummaryResponse> items;
+}
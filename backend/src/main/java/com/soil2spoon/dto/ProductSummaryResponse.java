@@ -0,0 +1,50 @@
+package com.soil2spoon.dto;
+
+import com.soil2spoon.catalog.CatalogProduct;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product card fields only, for listings requested with {@code view=summary}.
+ * The database path fills it from a JPQL constructor expression, so a listing is one narrow SELECT with no
+ * image, embeddable or category fetches.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSummaryResponse {
+
+    private String id;
+    private String name;
+    private String slug;
+    private Integer price;
+    private Integer originalPrice;
+    private String category;
+    private Double rating;
+    private Integer reviewCount;
+    private String image;
+
+    /** Used by the {@code SELECT new ...} projections in {@link com.soil2spoon.repository.ProductRepository}. */
+    public ProductSummaryResponse(Long id, String name, String slug, Integer price, Integer originalPrice,
+                                  String category, Double rating, Integer reviewCount, String image) {
+        this(String.valueOf(id), name, slug, price, originalPrice, category, rating, reviewCount, image);
+    }
+
+    public static ProductSummaryResponse from(CatalogProduct p) {
+        if (p == null) return null;
+        return ProductSummaryResponse.builder()
+                .id(String.valueOf(p.id()))
+                .name(p.name())
+                .slug(p.slug())
+                .price(p.price())
+                .originalPrice(p.originalPrice())
+                .category(p.categoryId())
+                .rating(p.rating())
+                .reviewCount(p.reviewCount())
+                .image(p.image())
+                .build();
+    }
+}
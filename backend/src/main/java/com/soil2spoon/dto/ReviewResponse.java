@@ -23,10 +23,11 @@ public class ReviewResponse {
         return from(r, null);
     }
 
-    public static ReviewResponse from(Review r, String currentUserEmail) {
+    /** Ownership is decided on the user id, which the lazy user proxy exposes without loading the user row. */
+    public static ReviewResponse from(Review r, Long currentUserId) {
         if (r == null) return null;
-        boolean owned = currentUserEmail != null && r.getUser() != null
-                && currentUserEmail.equals(r.getUser().getEmail());
+        boolean owned = currentUserId != null && r.getUser() != null
+                && currentUserId.equals(r.getUser().getId());
         return ReviewResponse.builder()
                 .id(String.valueOf(r.getId()))
                 .author(r.getAuthor())
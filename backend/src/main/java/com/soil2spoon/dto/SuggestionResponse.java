@@ -0,0 +1,19 @@
+package com.soil2spoon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionResponse {
+
+    private String text;
+    /** {@code product}, {@code flavour} or {@code category}. */
+    private String type;
+    /** Product slug or category id to link to; null for flavours, which are searched for by text. */
+    private String slug;
+}
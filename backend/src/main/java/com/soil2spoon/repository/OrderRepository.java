@@ -1,13 +1,42 @@
 package com.soil2spoon.repository;
 
 import com.soil2spoon.domain.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
     @EntityGraph(attributePaths = { "items", "items.product" })
     List<Order> findByUserIdOrderByOrderDateDesc(Long userId);
+
+    /** Pending orders whose next check is due, least recently tried first. */
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.nextVerificationAt <= :now "
+            + "ORDER BY o.nextVerificationAt")
+    List<Long> findIdsDueForVerification(@Param("status") Order.OrderStatus status,
+                                         @Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Counts a verification attempt and pushes the next check to {@code next}, only if the order is still in
+     * {@code status}; returns 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.verificationAttempts = o.verificationAttempts + 1, o.nextVerificationAt = :next "
+            + "WHERE o.id = :id AND o.status = :status")
+    int recordVerificationAttempt(@Param("id") Long id, @Param("status") Order.OrderStatus status,
+                                  @Param("next") Instant next);
+
+    /**
+     * Moves the order to {@code to} only if it is still in {@code from}; returns 0 if someone else moved it first.
+     * Also clears the verification retry time.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :to, o.nextVerificationAt = null WHERE o.id = :id AND o.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") Order.OrderStatus from, @Param("to") Order.OrderStatus to);
 }
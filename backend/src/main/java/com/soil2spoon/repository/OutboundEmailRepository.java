@@ -0,0 +1,36 @@
+package com.soil2spoon.repository;
+
+import com.soil2spoon.domain.OutboundEmail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long> {
+
+    @Query("SELECT e FROM OutboundEmail e WHERE e.status = com.soil2spoon.domain.OutboundEmail$Status.PENDING "
+            + "AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<OutboundEmail> findDue(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Leases a due email to this dispatcher by pushing its next attempt to {@code leaseUntil}.
+     * Returns 0 if another dispatcher claimed it first; an unfinished lease simply expires and the email is retried.
+     */
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.nextAttemptAt = :leaseUntil WHERE e.id = :id "
+            + "AND e.status = com.soil2spoon.domain.OutboundEmail$Status.PENDING AND e.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") Instant now, @Param("leaseUntil") Instant leaseUntil);
+
+    /** Ids of SENT or FAILED emails created before {@code before}, oldest first; used by the sweeper. */
+    @Query("SELECT e.id FROM OutboundEmail e WHERE e.status <> com.soil2spoon.domain.OutboundEmail$Status.PENDING "
+            + "AND e.createdAt < :before ORDER BY e.createdAt")
+    List<Long> findFinishedIds(@Param("before") Instant before, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OutboundEmail e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
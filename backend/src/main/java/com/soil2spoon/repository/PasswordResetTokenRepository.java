@@ -0,0 +1,29 @@
+package com.soil2spoon.repository;
+
+import com.soil2spoon.domain.PasswordResetToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
+
+    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /** Ids of expired tokens, oldest first; used by the sweeper to delete in bounded chunks. */
+    @Query("SELECT t.id FROM PasswordResetToken t WHERE t.expiresAt < :now ORDER BY t.expiresAt")
+    List<Long> findExpiredIds(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
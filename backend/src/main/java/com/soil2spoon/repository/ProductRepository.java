@@ -1,12 +1,14 @@
 package com.soil2spoon.repository;
 
 import com.soil2spoon.domain.Product;
+import com.soil2spoon.dto.ProductSummaryResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +16,8 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     Optional<Product> findBySlug(String slug);
 
+    List<Product> findBySlugIn(Collection<String> slugs);
+
     List<Product> findByFeaturedTrue();
 
     List<Product> findByTrendingTrue();
@@ -22,4 +26,45 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     @Query("SELECT p FROM Product p WHERE (:categoryId IS NULL OR p.category.id = :categoryId)")
     Page<Product> findAllByCategoryOptional(@Param("categoryId") String categoryId, Pageable pageable);
+
+    /**
+     * Keyset page: products with an id above {@code afterId}, in id order. Seeks on the primary key (or the
+     * category/id index) instead of skipping rows, and runs no count query; pass an unsorted
+     * {@code PageRequest.of(0, n)} to limit the rows.
+     */
+    @Query("SELECT p FROM Product p WHERE p.id > :afterId AND (:categoryId IS NULL OR p.category.id = :categoryId) ORDER BY p.id")
+    List<Product> findPageAfter(@Param("categoryId") String categoryId, @Param("afterId") long afterId, Pageable pageable);
+
+    long countByCategoryId(String categoryId);
+
+    // Card-only projections: one narrow SELECT, no images, embeddables or category proxy to initialize
+
+    String SUMMARY_SELECT = "SELECT new com.soil2spoon.dto.ProductSummaryResponse("
+            + "p.id, p.name, p.slug, p.price, p.originalPrice, p.category.id, p.rating, p.reviewCount, p.image) "
+            + "FROM Product p ";
+
+    @Query(value = SUMMARY_SELECT + "WHERE (:categoryId IS NULL OR p.category.id = :categoryId) ORDER BY p.id",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE (:categoryId IS NULL OR p.category.id = :categoryId)")
+    Page<ProductSummaryResponse> findSummaries(@Param("categoryId") String categoryId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.id > :afterId AND (:categoryId IS NULL OR p.category.id = :categoryId) ORDER BY p.id")
+    List<ProductSummaryResponse> findSummariesAfter(@Param("categoryId") String categoryId, @Param("afterId") long afterId,
+                                                    Pageable pageable);
+
+    /** Substring match on the name, for search while the catalog snapshot is disabled. */
+    @Query(value = SUMMARY_SELECT + "WHERE LOWER(p.name) LIKE :pattern ESCAPE '\\' ORDER BY p.reviewCount DESC, p.id",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE LOWER(p.name) LIKE :pattern ESCAPE '\\'")
+    Page<ProductSummaryResponse> searchSummariesByName(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids")
+    List<ProductSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY_SELECT + "WHERE p.slug IN :slugs")
+    List<ProductSummaryResponse> findSummariesBySlugIn(@Param("slugs") Collection<String> slugs);
+
+    @Query(SUMMARY_SELECT + "WHERE p.featured = true ORDER BY p.id")
+    List<ProductSummaryResponse> findFeaturedSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE p.trending = true ORDER BY p.id")
+    List<ProductSummaryResponse> findTrendingSummaries();
 }
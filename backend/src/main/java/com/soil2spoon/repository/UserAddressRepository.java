@@ -1,7 +1,11 @@
 package com.soil2spoon.repository;
 
 import com.soil2spoon.domain.UserAddress;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -10,4 +14,34 @@ public interface UserAddressRepository extends JpaRepository<UserAddress, Long>
     List<UserAddress> findByUserIdOrderByIsDefaultDescIdAsc(Long userId);
 
     void deleteByUserId(Long userId);
+
+    /** Clears the user's current default address in one statement. */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserAddress a SET a.isDefault = false, a.defaultUserId = null "
+            + "WHERE a.user.id = :userId AND a.isDefault = true")
+    int clearDefault(@Param("userId") Long userId);
+
+    /** Same as {@link #clearDefault} but leaves {@code keepId} alone (it is about to become, or stay, the default). */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserAddress a SET a.isDefault = false, a.defaultUserId = null "
+            + "WHERE a.user.id = :userId AND a.isDefault = true AND a.id <> :keepId")
+    int clearDefaultExcept(@Param("userId") Long userId, @Param("keepId") Long keepId);
+
+    /** Pending addresses not yet rejected by the geocoder, in id order starting after {@code afterId}. */
+    @Query("SELECT a FROM UserAddress a WHERE a.verificationPending = true AND a.verificationError IS NULL "
+            + "AND a.id > :afterId ORDER BY a.id")
+    List<UserAddress> findPendingVerification(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Stores a re-verification result, but only if the address is still pending and unchanged since it was read,
+     * so a concurrent edit by the owner is never overwritten.
+     */
+    @Modifying
+    @Query("UPDATE UserAddress a SET a.verificationPending = :pending, a.verificationError = :error "
+            + "WHERE a.id = :id AND a.verificationPending = true AND a.verificationError IS NULL "
+            + "AND a.addressLine1 = :line1 AND COALESCE(a.addressLine2, '') = COALESCE(:line2, '') "
+            + "AND a.city = :city AND a.state = :state AND a.pincode = :pincode")
+    int recordVerification(@Param("id") Long id, @Param("pending") boolean pending, @Param("error") String error,
+                           @Param("line1") String line1, @Param("line2") String line2, @Param("city") String city,
+                           @Param("state") String state, @Param("pincode") String pincode);
 }
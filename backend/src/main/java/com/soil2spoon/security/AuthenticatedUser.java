@@ -0,0 +1,30 @@
+package com.soil2spoon.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Principal for authenticated API requests. Carries the database id next to the email (username)
+ * so services can work with {@code userId} directly instead of resolving the email on every call.
+ */
+public class AuthenticatedUser extends User {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long userId;
+
+    public AuthenticatedUser(Long userId, String email, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return getUsername();
+    }
+}
@@ -1,10 +1,12 @@
 package com.soil2spoon.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,7 +18,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -27,6 +29,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserAccountCache userAccountCache;
+
+    /** When true, the principal is built from the verified role/userId claims instead of a per-request user query. */
+    @Value("${app.jwt.claims-auth.enabled:true}")
+    private boolean claimsAuthEnabled;
 
     @Override
     protected void doFilterInternal(
@@ -34,21 +41,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         String token = extractToken(request);
-        if (StringUtils.hasText(token) && jwtService.isValid(token)) {
-            String email = jwtService.getEmailFromToken(token);
+        Claims claims = StringUtils.hasText(token) ? jwtService.parseValidToken(token) : null;
+        if (claims != null) {
+            String email = claims.getSubject();
             if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
-                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(auth);
+                UserDetails userDetails = claimsAuthEnabled
+                        ? loadFromClaims(email, claims)
+                        : userDetailsService.loadUserByUsername(email);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities());
+                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                }
             }
         }
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Builds the principal from the token's signed claims. The short-TTL account cache is consulted so that
+     * a role change or a deleted account takes effect within one TTL; returns null for deleted accounts
+     * (including an email that was re-registered under a different id).
+     * Tokens issued before the role claim existed fall back to the full user lookup.
+     */
+    private UserDetails loadFromClaims(String email, Claims claims) {
+        String role = JwtService.getRole(claims);
+        Long userId = JwtService.getUserId(claims);
+        if (role == null || userId == null) {
+            return userDetailsService.loadUserByUsername(email);
+        }
+        Optional<UserAccountCache.CachedUser> current = userAccountCache.get(email);
+        if (current.isEmpty() || !userId.equals(current.get().id())) {
+            return null;
+        }
+        // The cached role wins over the signed one so demotions apply before the token expires
+        return new AuthenticatedUser(userId, email, "", CustomUserDetailsService.authoritiesFor(current.get().role()));
+    }
+
     private String extractToken(HttpServletRequest request) {
         String header = request.getHeader(AUTHORIZATION_HEADER);
         if (StringUtils.hasText(header) && header.startsWith(BEARER_PREFIX)) {
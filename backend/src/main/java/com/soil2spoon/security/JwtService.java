@@ -1,10 +1,11 @@
 package com.soil2spoon.security;
 
+import com.soil2spoon.support.BoundedTtlCache;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.SignatureException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -15,55 +16,86 @@ import java.util.Date;
 @Service
 public class JwtService {
 
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String ROLE_CLAIM = "role";
+
     private final SecretKey key;
+    private final JwtParser parser;
     private final long expirationMs;
+    /** Verified claims keyed by token digest; entries expire with the token itself. */
+    private final BoundedTtlCache<String, Claims> verifiedTokens;
 
     public JwtService(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.expiration-ms}") long expirationMs) {
+            @Value("${app.jwt.expiration-ms}") long expirationMs,
+            @Value("${app.jwt.token-cache.max-entries:10000}") int tokenCacheMaxEntries) {
         byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         if (keyBytes.length < 32) {
             throw new IllegalArgumentException("JWT secret must be at least 32 bytes for HS256");
         }
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser().verifyWith(key).build();
         this.expirationMs = expirationMs;
+        this.verifiedTokens = new BoundedTtlCache<>(tokenCacheMaxEntries, expirationMs);
     }
 
-    public String generateToken(String email, Long userId) {
+    public String generateToken(String email, Long userId, String role) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expirationMs);
         return Jwts.builder()
                 .subject(email)
-                .claim("userId", userId)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(ROLE_CLAIM, role != null ? role : "USER")
                 .issuedAt(now)
                 .expiration(expiry)
                 .signWith(key)
                 .compact();
     }
 
+    /**
+     * Verifies the token and returns its claims. Clients resend the same token until it expires, so
+     * verified claims are cached by token digest until the token's own expiry; only the first use of
+     * a token pays for signature verification and JSON parsing. Failures are never cached.
+     */
     public Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        String digest = TokenDigests.sha256Hex(token);
+        Claims cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, claims, claims.getExpiration().getTime());
+        }
+        return claims;
     }
 
-    public boolean isValid(String token) {
+    /**
+     * Verifies the token and returns its claims, or null when it is malformed, expired or badly signed.
+     * Lets callers verify once and read every claim from the result.
+     */
+    public Claims parseValidToken(String token) {
         try {
-            parseToken(token);
-            return true;
-        } catch (ExpiredJwtException | SignatureException | IllegalArgumentException e) {
-            return false;
+            return parseToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
     }
 
+    public boolean isValid(String token) {
+        return parseValidToken(token) != null;
+    }
+
     public String getEmailFromToken(String token) {
         return parseToken(token).getSubject();
     }
 
     public Long getUserIdFromToken(String token) {
-        Object userId = parseToken(token).get("userId");
+        return getUserId(parseToken(token));
+    }
+
+    public static Long getUserId(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
         if (userId instanceof Integer) {
             return ((Integer) userId).longValue();
         }
@@ -72,4 +104,9 @@ public class JwtService {
         }
         return null;
     }
+
+    public static String getRole(Claims claims) {
+        Object role = claims.get(ROLE_CLAIM);
+        return role instanceof String ? (String) role : null;
+    }
 }
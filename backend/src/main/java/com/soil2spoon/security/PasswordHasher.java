@@ -0,0 +1,164 @@
+package com.soil2spoon.security;
+
+import com.soil2spoon.support.MetricsSource;
+import com.soil2spoon.support.ServiceBusyException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated, bounded pool.
+ * A login or signup burst can then only occupy this pool's threads and queue; once the queue is full,
+ * requests are rejected immediately with {@link ServiceBusyException} (429) instead of piling up CPU work
+ * and starving the catalog endpoints. Callers should not hold a database connection while they wait here.
+ */
+@Component
+@Slf4j
+public class PasswordHasher implements MetricsSource {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    public PasswordHasher(
+            PasswordEncoder passwordEncoder,
+            @Value("${app.auth.hashing.threads:0}") int threads,
+            @Value("${app.auth.hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${app.auth.hashing.timeout-ms:5000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMs = timeoutMs;
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Waits up to {@code timeoutMs} for a hashing thread. BCrypt ignores interrupts, so a hash that has started
+     * cannot be cut short; the timeout therefore only applies to the queue. A caller that gives up withdraws its
+     * task before it starts, which frees the queue slot, so no hash ever runs after its caller has left. Once the
+     * task has started, the caller waits for it to finish (one hash, typically well under a second).
+     */
+    private <T> T run(Callable<T> work) {
+        long submittedAt = System.nanoTime();
+        AtomicBoolean claimed = new AtomicBoolean();
+        FutureTask<T> task = new FutureTask<>(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return null;
+            }
+            long startedAt = System.nanoTime();
+            queueWaitNanos.add(startedAt - submittedAt);
+            try {
+                return work.call();
+            } finally {
+                recordHash(System.nanoTime() - startedAt);
+            }
+        });
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceBusyException("Too many sign-in attempts right now. Please try again in a moment.");
+        }
+        try {
+            try {
+                return task.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (withdraw(task, claimed)) {
+                    rejected.increment();
+                    throw new ServiceBusyException("Too many sign-in attempts right now. Please try again in a moment.");
+                }
+                return task.get();
+            }
+        } catch (InterruptedException e) {
+            withdraw(task, claimed);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Request interrupted. Please try again.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /** Removes a task that has not started yet from the queue; false when a hashing thread already runs it. */
+    private boolean withdraw(FutureTask<?> task, AtomicBoolean claimed) {
+        if (!claimed.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.remove(task);
+        return true;
+    }
+
+    private void recordHash(long nanos) {
+        completed.increment();
+        hashNanos.add(nanos);
+        maxHashNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    @Override
+    public String metricsName() {
+        return "passwordHashing";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        long count = completed.sum();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("poolSize", executor.getMaximumPoolSize());
+        m.put("active", executor.getActiveCount());
+        m.put("queued", executor.getQueue().size());
+        m.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+        m.put("completed", count);
+        m.put("rejected", rejected.sum());
+        m.put("avgHashMs", count == 0 ? 0.0 : hashNanos.sum() / 1_000_000.0 / count);
+        m.put("maxHashMs", maxHashNanos.get() / 1_000_000.0);
+        m.put("avgQueueWaitMs", count == 0 ? 0.0 : queueWaitNanos.sum() / 1_000_000.0 / count);
+        return m;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,183 @@
+package com.soil2spoon.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soil2spoon.support.TokenBucketRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Throttles the endpoints that turn directly into BCrypt work, SMTP sends or order writes.
+ * Runs before {@link JwtAuthenticationFilter}, so rejected requests cost neither token parsing nor a DB query.
+ * Login and forgot-password are limited per client IP and per email in the JSON body; order placement per IP.
+ * Auth bodies are read into memory to find the email, so larger ones are rejected with 413 instead.
+ * Limits are configured per route under {@code app.rate-limit.*}.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /** Auth request bodies are tiny; larger ones (declared or chunked) are rejected without being buffered. */
+    private static final int MAX_INSPECTED_BODY_BYTES = 16 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Map<String, TokenBucketRateLimiter> limiters;
+
+    public RateLimitFilter(
+            ObjectMapper objectMapper,
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${app.rate-limit.login.capacity:10}") int loginCapacity,
+            @Value("${app.rate-limit.login.refill-per-minute:10}") int loginRefill,
+            @Value("${app.rate-limit.forgot-password.capacity:3}") int forgotCapacity,
+            @Value("${app.rate-limit.forgot-password.refill-per-minute:3}") int forgotRefill,
+            @Value("${app.rate-limit.orders.capacity:5}") int ordersCapacity,
+            @Value("${app.rate-limit.orders.refill-per-minute:10}") int ordersRefill) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.limiters = Map.of(
+                "/api/auth/login", new TokenBucketRateLimiter(loginCapacity, loginRefill, maxKeys),
+                "/api/auth/forgot-password", new TokenBucketRateLimiter(forgotCapacity, forgotRefill, maxKeys),
+                "/api/orders", new TokenBucketRateLimiter(ordersCapacity, ordersRefill, maxKeys));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || !limiters.containsKey(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getServletPath();
+        TokenBucketRateLimiter limiter = limiters.get(path);
+
+        long retryAfter = limiter.tryAcquire("ip:" + request.getRemoteAddr());
+        HttpServletRequest forwarded = request;
+        if (retryAfter == 0 && path.startsWith("/api/auth/")) {
+            CachedBodyRequest cached = CachedBodyRequest.wrap(request);
+            if (cached == null) {
+                writeError(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "Request body too large.");
+                return;
+            }
+            forwarded = cached;
+            String email = extractEmail(cached.body);
+            if (email != null) {
+                retryAfter = limiter.tryAcquire("email:" + email);
+            }
+        }
+        if (retryAfter > 0) {
+            log.debug("Rate limit hit on {} from {}", path, request.getRemoteAddr());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            writeError(response, 429, "Too many requests. Please try again in " + retryAfter + " seconds.");
+            return;
+        }
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("message", message));
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            return email.isTextual() ? email.asText().trim().toLowerCase() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** Request whose JSON body has been read up front so it can be inspected here and read again by MVC. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        /**
+         * Buffers the body, or returns null when it is larger than {@link #MAX_INSPECTED_BODY_BYTES}. Chunked
+         * bodies declare no length, so at most one byte past the limit is read to find out.
+         */
+        static CachedBodyRequest wrap(HttpServletRequest request) throws IOException {
+            if (request.getContentLengthLong() > MAX_INSPECTED_BODY_BYTES) {
+                return null;
+            }
+            byte[] body = request.getInputStream().readNBytes(MAX_INSPECTED_BODY_BYTES + 1);
+            return body.length > MAX_INSPECTED_BODY_BYTES ? null : new CachedBodyRequest(request, body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /** The body is already in memory, so the listener is told right away that it can be read. */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.soil2spoon.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 digests of bearer tokens, used wherever a token has to be looked up or stored
+ * without keeping the raw value around.
+ */
+public final class TokenDigests {
+
+    private TokenDigests() {
+    }
+
+    /** Lower-case hex SHA-256 of the token's UTF-8 bytes (64 characters). */
+    public static String sha256Hex(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.soil2spoon.security;
+
+import com.soil2spoon.repository.UserRepository;
+import com.soil2spoon.support.BoundedTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Short-lived view of each user's current role, keyed by email.
+ * Lets {@link JwtAuthenticationFilter} trust the role and userId signed into the token while still
+ * picking up role changes and deleted accounts within one TTL, at one query per user per TTL
+ * instead of one per request. Missing users are cached too, so a revoked account is not re-queried
+ * on every request it makes.
+ */
+@Component
+public class UserAccountCache {
+
+    private final UserRepository userRepository;
+    private final BoundedTtlCache<String, Optional<CachedUser>> cache;
+
+    public UserAccountCache(
+            UserRepository userRepository,
+            @Value("${app.jwt.user-cache.ttl-ms:30000}") long ttlMs,
+            @Value("${app.jwt.user-cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.cache = new BoundedTtlCache<>(maxEntries, ttlMs);
+    }
+
+    public Optional<CachedUser> get(String email) {
+        Optional<CachedUser> cached = cache.get(email);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<CachedUser> loaded = userRepository.findByEmail(email)
+                .map(u -> new CachedUser(u.getId(), u.getEmail(), u.getRole() != null ? u.getRole() : "USER"));
+        cache.put(email, loaded);
+        return loaded;
+    }
+
+    /**
+     * Drops the cached entry so the next request re-reads the user. Called after a password reset; the app has no
+     * role-change or account-deletion endpoint, so changes made directly in the database show up within one TTL.
+     */
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    public record CachedUser(Long id, String email, String role) {}
+}
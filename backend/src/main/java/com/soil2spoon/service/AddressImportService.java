@@ -0,0 +1,358 @@
+package com.soil2spoon.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soil2spoon.domain.User;
+import com.soil2spoon.domain.UserAddress;
+import com.soil2spoon.dto.AddressImportLine;
+import com.soil2spoon.dto.AddressImportResult;
+import com.soil2spoon.dto.AddressRequest;
+import com.soil2spoon.repository.UserAddressRepository;
+import com.soil2spoon.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bulk import of customer addresses (e.g. migrating address books from the old platform).
+ * Reads NDJSON line by line and writes one NDJSON result per line as soon as it is known:
+ * <ul>
+ *   <li>field checks run inline; addresses identical (after normalization) to one the user already has,
+ *       or to an earlier accepted line for the same user, are reported as DUPLICATE;</li>
+ *   <li>pincode directory and geocoder checks run on virtual threads, at most
+ *       {@code app.addresses.import.max-concurrent} at a time, and identical addresses share one check;</li>
+ *   <li>valid addresses are inserted with JDBC batch inserts of {@code app.addresses.import.batch-size} rows;
+ *       if a batch fails, its rows are retried one by one so only the failing rows are reported.</li>
+ * </ul>
+ * Results therefore come back in completion order, not input order.
+ */
+@Service
+@Slf4j
+public class AddressImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO user_addresses "
+            + "(user_id, name, phone, address_line1, address_line2, city, state, pincode, is_default, verification_pending) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, false, ?)";
+    private static final String CLEAR_DEFAULT_SQL =
+            "UPDATE user_addresses SET is_default = false, default_user_id = NULL WHERE user_id = ? AND is_default = true";
+    private static final String SET_DEFAULT_SQL =
+            "UPDATE user_addresses SET is_default = true, default_user_id = user_id WHERE id = ?";
+
+    private final ObjectMapper objectMapper;
+    private final AddressService addressService;
+    private final UserRepository userRepository;
+    private final UserAddressRepository addressRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxConcurrent;
+    private final int batchSize;
+
+    public AddressImportService(
+            ObjectMapper objectMapper,
+            AddressService addressService,
+            UserRepository userRepository,
+            UserAddressRepository addressRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.addresses.import.max-concurrent:16}") int maxConcurrent,
+            @Value("${app.addresses.import.batch-size:500}") int batchSize) {
+        this.objectMapper = objectMapper;
+        this.addressService = addressService;
+        this.userRepository = userRepository;
+        this.addressRepository = addressRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxConcurrent = maxConcurrent;
+        this.batchSize = batchSize;
+    }
+
+    public void importAddresses(InputStream in, OutputStream out) throws IOException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            new ImportRun(executor, out).run(in);
+        }
+    }
+
+    /** A valid line waiting for its address check; {@code key} is its normalized address. */
+    private record Candidate(int line, Long userId, String key, AddressRequest address) {}
+
+    /** A finished address check; {@code error} is set when the address was rejected. */
+    private record Checked(Candidate candidate, boolean verificationPending, String error) {}
+
+    /** State of one import request. Only the request thread touches it, except for the completion queue. */
+    private final class ImportRun {
+
+        private final ExecutorService executor;
+        private final OutputStream out;
+        private final Semaphore budget = new Semaphore(maxConcurrent);
+        private final BlockingQueue<Checked> completed = new LinkedBlockingQueue<>();
+        private final Map<String, CompletableFuture<Boolean>> checks = new HashMap<>();
+        private final Map<String, Optional<Long>> usersByEmail = new HashMap<>();
+        private final Map<Long, Set<String>> addressKeysByUser = new HashMap<>();
+        private final List<Checked> insertBuffer = new ArrayList<>();
+        private final int maxOutstanding = Math.max(batchSize, maxConcurrent * 4);
+        private int outstanding;
+
+        ImportRun(ExecutorService executor, OutputStream out) {
+            this.executor = executor;
+            this.out = out;
+        }
+
+        void run(InputStream in) throws IOException {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String text;
+            int lineNo = 0;
+            while ((text = reader.readLine()) != null) {
+                lineNo++;
+                if (!text.isBlank()) {
+                    accept(lineNo, text);
+                }
+                while (outstanding >= maxOutstanding) {
+                    handle(take());
+                }
+                drainCompleted();
+                out.flush();
+            }
+            while (outstanding > 0) {
+                handle(take());
+            }
+            flushInserts();
+            out.flush();
+        }
+
+        private void accept(int lineNo, String text) throws IOException {
+            AddressImportLine line;
+            try {
+                line = objectMapper.readValue(text, AddressImportLine.class);
+            } catch (JsonProcessingException e) {
+                write(AddressImportResult.invalid(lineNo, "Malformed JSON"));
+                return;
+            }
+            Long userId = resolveUser(line);
+            if (userId == null) {
+                write(AddressImportResult.invalid(lineNo, "Unknown user"));
+                return;
+            }
+            AddressRequest address = line.toAddressRequest();
+            try {
+                addressService.validateFields(address);
+            } catch (IllegalArgumentException e) {
+                write(AddressImportResult.invalid(lineNo, e.getMessage()));
+                return;
+            }
+            String key = addressKey(address);
+            if (addressKeysFor(userId).contains(key)) {
+                write(AddressImportResult.duplicate(lineNo));
+                return;
+            }
+            Candidate candidate = new Candidate(lineNo, userId, key, address);
+            outstanding++;
+            checks.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> verify(address), executor))
+                    .whenComplete((pending, error) -> completed.add(error == null
+                            ? new Checked(candidate, pending, null)
+                            : new Checked(candidate, false, messageOf(error))));
+        }
+
+        private boolean verify(AddressRequest a) {
+            try {
+                budget.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Import interrupted", e);
+            }
+            try {
+                return addressService.verifyAddress(a.getAddressLine1(), a.getAddressLine2(), a.getCity(), a.getState(), a.getPincode());
+            } finally {
+                budget.release();
+            }
+        }
+
+        private Long resolveUser(AddressImportLine line) {
+            if (line.getUserId() != null) {
+                return addressKeysByUser.containsKey(line.getUserId()) || userRepository.existsById(line.getUserId())
+                        ? line.getUserId() : null;
+            }
+            if (line.getUserEmail() == null || line.getUserEmail().isBlank()) {
+                return null;
+            }
+            return usersByEmail.computeIfAbsent(line.getUserEmail().trim().toLowerCase(),
+                    email -> userRepository.findByEmail(email).map(User::getId)).orElse(null);
+        }
+
+        /**
+         * Normalized keys of the user's saved addresses plus those accepted so far in this import. A key is added
+         * only once its address passed the check, so a rejected line never turns a later identical one into a
+         * DUPLICATE.
+         */
+        private Set<String> addressKeysFor(Long userId) {
+            return addressKeysByUser.computeIfAbsent(userId, id -> {
+                Set<String> keys = new HashSet<>();
+                for (UserAddress a : addressRepository.findByUserIdOrderByIsDefaultDescIdAsc(id)) {
+                    keys.add(addressKey(a.getAddressLine1(), a.getAddressLine2(), a.getCity(), a.getState(), a.getPincode()));
+                }
+                return keys;
+            });
+        }
+
+        private Checked take() {
+            try {
+                return completed.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Import interrupted", e);
+            }
+        }
+
+        private void drainCompleted() throws IOException {
+            Checked checked;
+            while ((checked = completed.poll()) != null) {
+                handle(checked);
+            }
+        }
+
+        private void handle(Checked checked) throws IOException {
+            outstanding--;
+            Candidate candidate = checked.candidate();
+            if (checked.error() != null) {
+                // Let a later line with this address be checked again (the failure may have been transient)
+                CompletableFuture<Boolean> check = checks.get(candidate.key());
+                if (check != null && check.isCompletedExceptionally()) {
+                    checks.remove(candidate.key());
+                }
+                write(AddressImportResult.invalid(candidate.line(), checked.error()));
+                return;
+            }
+            if (!addressKeysFor(candidate.userId()).add(candidate.key())) {
+                write(AddressImportResult.duplicate(candidate.line()));
+                return;
+            }
+            insertBuffer.add(checked);
+            if (insertBuffer.size() >= batchSize) {
+                flushInserts();
+            }
+        }
+
+        private void flushInserts() throws IOException {
+            if (insertBuffer.isEmpty()) {
+                return;
+            }
+            List<Checked> batch = new ArrayList<>(insertBuffer);
+            insertBuffer.clear();
+            List<Long> ids;
+            try {
+                ids = transactionTemplate.execute(status -> insertBatch(batch));
+            } catch (DataAccessException e) {
+                log.warn("Address import batch of {} rows failed, retrying row by row", batch.size(), e);
+                for (Checked c : batch) {
+                    insertOne(c);
+                }
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                write(AddressImportResult.created(batch.get(i).candidate().line(), ids.get(i), batch.get(i).verificationPending()));
+            }
+        }
+
+        private void insertOne(Checked c) throws IOException {
+            List<Long> ids;
+            try {
+                ids = transactionTemplate.execute(status -> insertBatch(List.of(c)));
+            } catch (DataAccessException e) {
+                log.error("Address import line {} could not be saved", c.candidate().line(), e);
+                addressKeysFor(c.candidate().userId()).remove(c.candidate().key());
+                write(AddressImportResult.invalid(c.candidate().line(), "Could not save address"));
+                return;
+            }
+            write(AddressImportResult.created(c.candidate().line(), ids.get(0), c.verificationPending()));
+        }
+
+        private void write(AddressImportResult result) throws IOException {
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+        }
+    }
+
+    /** Inserts the batch in one JDBC batch and applies requested defaults. Returns the new ids in batch order. */
+    private List<Long> insertBatch(List<Checked> batch) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Checked c = batch.get(i);
+                        AddressRequest a = c.candidate().address();
+                        ps.setLong(1, c.candidate().userId());
+                        ps.setString(2, a.getName().trim());
+                        ps.setString(3, a.getPhone().trim());
+                        ps.setString(4, a.getAddressLine1().trim());
+                        ps.setString(5, a.getAddressLine2() != null ? a.getAddressLine2().trim() : null);
+                        ps.setString(6, a.getCity().trim());
+                        ps.setString(7, a.getState().trim());
+                        ps.setString(8, a.getPincode().trim());
+                        ps.setBoolean(9, c.verificationPending());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keyHolder);
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        // Defaults are rare in imports; apply them in input order so the last one per user wins
+        for (int i = 0; i < batch.size(); i++) {
+            Candidate c = batch.get(i).candidate();
+            if (Boolean.TRUE.equals(c.address().getIsDefault())) {
+                jdbcTemplate.update(CLEAR_DEFAULT_SQL, c.userId());
+                jdbcTemplate.update(SET_DEFAULT_SQL, ids.get(i));
+            }
+        }
+        return ids;
+    }
+
+    private static String addressKey(AddressRequest a) {
+        return addressKey(a.getAddressLine1(), a.getAddressLine2(), a.getCity(), a.getState(), a.getPincode());
+    }
+
+    private static String addressKey(String line1, String line2, String city, String state, String pincode) {
+        return GeocodingCache.key(String.join(", ",
+                line1 != null ? line1 : "", line2 != null ? line2 : "", city != null ? city : "", state != null ? state : ""), pincode);
+    }
+
+    private static String messageOf(Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        return cause instanceof IllegalArgumentException ? cause.getMessage() : "Address could not be verified";
+    }
+}
@@ -0,0 +1,110 @@
+package com.soil2spoon.service;
+
+import com.soil2spoon.domain.UserAddress;
+import com.soil2spoon.repository.UserAddressRepository;
+import com.soil2spoon.support.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Re-checks saved addresses that were accepted while the geocoder was unavailable
+ * ({@link UserAddress#getVerificationPending()}). Each run checks one batch, continuing after the last address
+ * of the previous run and wrapping around at the end, so every pending address is eventually reached.
+ * A verified address is cleared; a rejected one keeps the pending flag and gets the geocoder's reason in
+ * {@code verification_error} for the owner to fix, and is not checked again until edited. A run stops at the
+ * first unavailable answer and resumes from that address next time.
+ */
+@Component
+@Slf4j
+public class AddressReverifier implements MetricsSource {
+
+    private final UserAddressRepository addressRepository;
+    private final GeocodingService geocodingService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    /** Id of the last address checked; only touched by the scheduler thread. */
+    private long cursor;
+
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+
+    public AddressReverifier(
+            UserAddressRepository addressRepository,
+            GeocodingService geocodingService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.addresses.reverify.batch-size:100}") int batchSize) {
+        this.addressRepository = addressRepository;
+        this.geocodingService = geocodingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.addresses.reverify.interval-ms:900000}",
+            initialDelayString = "${app.addresses.reverify.interval-ms:900000}")
+    public void reverifyPending() {
+        List<UserAddress> batch = addressRepository.findPendingVerification(cursor, PageRequest.of(0, batchSize));
+        for (UserAddress address : batch) {
+            GeocodingService.Verification verification = geocodingService.verify(
+                    address.getAddressLine1(),
+                    address.getAddressLine2(),
+                    address.getCity(),
+                    address.getState(),
+                    address.getPincode());
+            switch (verification.status()) {
+                case VERIFIED -> {
+                    if (record(address, false, null)) {
+                        verified.increment();
+                    }
+                }
+                case INVALID -> {
+                    if (record(address, true, verification.message())) {
+                        rejected.increment();
+                        log.info("Saved address {} failed re-verification ({})", address.getId(), verification.message());
+                    }
+                }
+                default -> {
+                    deferred.increment();
+                    return;
+                }
+            }
+            cursor = address.getId();
+        }
+        if (batch.size() < batchSize) {
+            cursor = 0;
+        }
+    }
+
+    private boolean record(UserAddress address, boolean pending, String error) {
+        Integer updated = transactionTemplate.execute(status -> addressRepository.recordVerification(
+                address.getId(), pending, error,
+                address.getAddressLine1(), address.getAddressLine2(), address.getCity(),
+                address.getState(), address.getPincode()));
+        return updated != null && updated == 1;
+    }
+
+    @Override
+    public String metricsName() {
+        return "addressReverification";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("verified", verified.sum());
+        m.put("rejected", rejected.sum());
+        m.put("deferred", deferred.sum());
+        return m;
+    }
+}
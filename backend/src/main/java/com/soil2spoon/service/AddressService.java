@@ -1,16 +1,18 @@
 package com.soil2spoon.service;
 
-import com.soil2spoon.domain.User;
 import com.soil2spoon.domain.UserAddress;
 import com.soil2spoon.dto.AddressRequest;
 import com.soil2spoon.dto.AddressResponse;
 import com.soil2spoon.repository.UserAddressRepository;
 import com.soil2spoon.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,27 +22,24 @@ public class AddressService {
     private final UserRepository userRepository;
     private final UserAddressRepository addressRepository;
     private final GeocodingService geocodingService;
+    private final PincodeDirectory pincodeDirectory;
 
     @Transactional(readOnly = true)
-    public List<AddressResponse> getAddresses(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        return addressRepository.findByUserIdOrderByIsDefaultDescIdAsc(user.getId()).stream()
+    public List<AddressResponse> getAddresses(Long userId) {
+        return addressRepository.findByUserIdOrderByIsDefaultDescIdAsc(userId).stream()
                 .map(AddressResponse::from)
                 .collect(Collectors.toList());
     }
 
     @Transactional
-    public AddressResponse createAddress(String userEmail, AddressRequest request) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        validateRequest(request);
-        if (Boolean.TRUE.equals(request.getIsDefault())) {
-            addressRepository.findByUserIdOrderByIsDefaultDescIdAsc(user.getId()).forEach(a -> a.setIsDefault(false));
-            addressRepository.flush();
+    public AddressResponse createAddress(Long userId, AddressRequest request) {
+        boolean verificationPending = validateRequest(request);
+        boolean makeDefault = Boolean.TRUE.equals(request.getIsDefault());
+        if (makeDefault) {
+            addressRepository.clearDefault(userId);
         }
         UserAddress address = UserAddress.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(userId))
                 .name(request.getName())
                 .phone(request.getPhone())
                 .addressLine1(request.getAddressLine1())
@@ -48,25 +47,24 @@ public class AddressService {
                 .city(request.getCity())
                 .state(request.getState())
                 .pincode(request.getPincode())
-                .isDefault(Boolean.TRUE.equals(request.getIsDefault()))
+                .verificationPending(verificationPending)
                 .build();
-        address = addressRepository.save(address);
+        address.markDefault(makeDefault, userId);
+        address = saveAndFlush(address);
         return AddressResponse.from(address);
     }
 
     @Transactional
-    public AddressResponse updateAddress(String userEmail, Long addressId, AddressRequest request) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    public AddressResponse updateAddress(Long userId, Long addressId, AddressRequest request) {
         UserAddress address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new IllegalArgumentException("Address not found"));
-        if (!address.getUser().getId().equals(user.getId())) {
+        if (!address.getUser().getId().equals(userId)) {
             throw new IllegalArgumentException("Address not found");
         }
-        validateRequest(request);
-        if (Boolean.TRUE.equals(request.getIsDefault())) {
-            addressRepository.findByUserIdOrderByIsDefaultDescIdAsc(user.getId()).forEach(a -> a.setIsDefault(false));
-            addressRepository.flush();
+        boolean verificationPending = validateRequest(request);
+        boolean makeDefault = Boolean.TRUE.equals(request.getIsDefault());
+        if (makeDefault) {
+            addressRepository.clearDefaultExcept(userId, addressId);
         }
         address.setName(request.getName());
         address.setPhone(request.getPhone());
@@ -75,24 +73,63 @@ public class AddressService {
         address.setCity(request.getCity());
         address.setState(request.getState());
         address.setPincode(request.getPincode());
-        address.setIsDefault(Boolean.TRUE.equals(request.getIsDefault()));
-        address = addressRepository.save(address);
+        address.markDefault(makeDefault, userId);
+        address.setVerificationPending(verificationPending);
+        address.setVerificationError(null);
+        address = saveAndFlush(address);
         return AddressResponse.from(address);
     }
 
     @Transactional
-    public void deleteAddress(String userEmail, Long addressId) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    public void deleteAddress(Long userId, Long addressId) {
         UserAddress address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new IllegalArgumentException("Address not found"));
-        if (!address.getUser().getId().equals(user.getId())) {
+        if (!address.getUser().getId().equals(userId)) {
             throw new IllegalArgumentException("Address not found");
         }
         addressRepository.delete(address);
     }
 
-    private void validateRequest(AddressRequest request) {
+    /**
+     * Flushes inside the service so a lost race for the default slot (unique default_user_id) surfaces here
+     * as a 400 instead of a failed commit. Other integrity violations are not the caller's fault and propagate.
+     */
+    private UserAddress saveAndFlush(UserAddress address) {
+        try {
+            return addressRepository.saveAndFlush(address);
+        } catch (DataIntegrityViolationException e) {
+            if (!violatesDefaultSlot(e)) {
+                throw e;
+            }
+            throw new IllegalArgumentException("Your default address was changed at the same time. Please try again.");
+        }
+    }
+
+    /** H2 reports the backing index (e.g. PUBLIC.UK_..._INDEX_8), Postgres the bare name, hence the contains. */
+    private static boolean violatesDefaultSlot(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException cve && cve.getConstraintName() != null
+                    && cve.getConstraintName().toLowerCase(Locale.ROOT).contains(UserAddress.DEFAULT_SLOT_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @return true if the address was accepted without remote verification (geocoder unavailable) */
+    private boolean validateRequest(AddressRequest request) {
+        validateFields(request);
+        return verifyAddress(
+                request.getAddressLine1(),
+                request.getAddressLine2(),
+                request.getCity(),
+                request.getState(),
+                request.getPincode()
+        );
+    }
+
+    /** Required fields and format checks only; no pincode directory or geocoder lookup. */
+    void validateFields(AddressRequest request) {
         if (request == null || request.getName() == null || request.getName().isBlank()
                 || request.getPhone() == null || request.getPhone().isBlank()
                 || request.getAddressLine1() == null || request.getAddressLine1().isBlank()
@@ -112,13 +149,6 @@ public class AddressService {
         if (request.getCity().trim().length() > 100 || request.getState().trim().length() > 100) {
             throw new IllegalArgumentException("City and state must be 100 characters or less");
         }
-        geocodingService.validateAddress(
-                request.getAddressLine1(),
-                request.getAddressLine2(),
-                request.getCity(),
-                request.getState(),
-                request.getPincode()
-        );
     }
 
     /**
@@ -145,9 +175,12 @@ public class AddressService {
     }
 
     /**
-     * Validates shipping address fields. Used when creating an order with inline shipping details.
+     * Local checks for an order's inline shipping address: required fields, phone and pincode format, and the
+     * offline pincode directory. Makes no remote call; the geocoder check runs after the order is saved
+     * (see {@link OrderAddressVerifier}).
+     * @return true if the address still needs remote verification
      */
-    public void validateShippingAddress(String name, String phone, String addressLine1, String addressLine2, String city, String state, String pincode) {
+    public boolean validateShippingAddress(String name, String phone, String addressLine1, String addressLine2, String city, String state, String pincode) {
         if (name == null || name.isBlank()
                 || phone == null || phone.isBlank()
                 || addressLine1 == null || addressLine1.isBlank()
@@ -161,12 +194,27 @@ public class AddressService {
         if (name.trim().length() < 2) {
             throw new IllegalArgumentException("Name must be at least 2 characters");
         }
-        geocodingService.validateAddress(
-                addressLine1,
-                addressLine2,
-                city,
-                state,
-                pincode
-        );
+        return checkPincodeDirectory(city, state, pincode) != PincodeDirectory.Match.MATCH;
+    }
+
+    /**
+     * Checks the pincode against the offline directory first: a certain mismatch is rejected without a
+     * remote call and a full match skips it; only ambiguous combinations go to the geocoder.
+     * @return true if the geocoder was unavailable and the address was accepted pending verification
+     */
+    boolean verifyAddress(String addressLine1, String addressLine2, String city, String state, String pincode) {
+        if (checkPincodeDirectory(city, state, pincode) == PincodeDirectory.Match.MATCH) {
+            return false;
+        }
+        return geocodingService.validateAddress(addressLine1, addressLine2, city, state, pincode)
+                == GeocodingService.Outcome.PENDING_VERIFICATION;
+    }
+
+    private PincodeDirectory.Match checkPincodeDirectory(String city, String state, String pincode) {
+        PincodeDirectory.Match match = pincodeDirectory.check(pincode, city, state);
+        if (match == PincodeDirectory.Match.MISMATCH) {
+            throw new IllegalArgumentException("Pincode does not match the state. Please check pincode, city and state.");
+        }
+        return match;
     }
 }
@@ -1,16 +1,21 @@
 package com.soil2spoon.service;
 
+import com.soil2spoon.domain.PasswordResetToken;
 import com.soil2spoon.domain.User;
 import com.soil2spoon.dto.AuthResponse;
 import com.soil2spoon.dto.LoginRequest;
 import com.soil2spoon.dto.SignupRequest;
 import com.soil2spoon.dto.UserResponse;
+import com.soil2spoon.repository.PasswordResetTokenRepository;
 import com.soil2spoon.repository.UserRepository;
 import com.soil2spoon.security.JwtService;
+import com.soil2spoon.security.PasswordHasher;
+import com.soil2spoon.security.TokenDigests;
+import com.soil2spoon.security.UserAccountCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -25,41 +30,65 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordResetTokenRepository resetTokenRepository;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
     private final EmailService emailService;
+    private final RefreshTokenService refreshTokenService;
+    private final UserAccountCache userAccountCache;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    /**
+     * Hashes the password before the transaction opens: waiting for a hashing thread must not hold a pooled
+     * connection, or a signup burst would starve every other endpoint of connections.
+     */
     public AuthResponse register(SignupRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("Email already registered");
         }
-        Instant now = Instant.now();
-        User user = User.builder()
-                .email(request.getEmail().trim().toLowerCase())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .name(request.getName().trim())
-                .role("USER")
-                .createdAt(now)
-                .updatedAt(now)
-                .build();
-        user = userRepository.save(user);
-        String token = jwtService.generateToken(user.getEmail(), user.getId());
-        return AuthResponse.of(token, toUserResponse(user));
+        String passwordHash = passwordHasher.encode(request.getPassword());
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            User user = User.builder()
+                    .email(request.getEmail().trim().toLowerCase())
+                    .password(passwordHash)
+                    .name(request.getName().trim())
+                    .role("USER")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            user = userRepository.save(user);
+            return issueTokens(user);
+        });
     }
 
     public AuthResponse login(LoginRequest request) {
         User user = userRepository.findByEmail(request.getEmail().trim().toLowerCase())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid email or password"));
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
             throw new IllegalArgumentException("Invalid email or password");
         }
-        String token = jwtService.generateToken(user.getEmail(), user.getId());
-        return AuthResponse.of(token, toUserResponse(user));
+        return issueTokens(user);
     }
 
-    public UserResponse getCurrentUser(String email) {
-        User user = userRepository.findByEmail(email)
+    /**
+     * Renews the session from a refresh token: rotates the refresh token and signs a new access token.
+     * No password hashing is involved.
+     */
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = userRepository.findById(rotation.userId())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+        String token = jwtService.generateToken(user.getEmail(), user.getId(), user.getRole());
+        return AuthResponse.of(token, rotation.refreshToken(), toUserResponse(user));
+    }
+
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
+
+    public UserResponse getCurrentUser(Long userId) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         return toUserResponse(user);
     }
@@ -72,11 +101,14 @@ public class AuthService {
             return Optional.empty();
         }
         String token = UUID.randomUUID().toString();
-        Instant expiry = Instant.now().plus(Duration.ofHours(1));
-        user.setResetToken(token);
-        user.setResetTokenExpiry(expiry);
-        user.setUpdatedAt(Instant.now());
-        userRepository.save(user);
+        Instant now = Instant.now();
+        resetTokenRepository.deleteByUserId(user.getId());
+        resetTokenRepository.save(PasswordResetToken.builder()
+                .tokenHash(TokenDigests.sha256Hex(token))
+                .user(user)
+                .createdAt(now)
+                .expiresAt(now.plus(Duration.ofHours(1)))
+                .build());
         try {
             var result = emailService.sendPasswordResetEmail(user.getEmail(), token);
             return Optional.ofNullable(result.resetLinkWhenNotSent());
@@ -86,21 +118,36 @@ public class AuthService {
         }
     }
 
-    @Transactional
+    /**
+     * Like {@link #register}, hashes the new password outside the transaction. The token is checked once before
+     * hashing, so invalid links cost no hash, and again inside the transaction that applies the change.
+     * Expired tokens are left to {@link PasswordResetTokenSweeper}.
+     */
     public void resetPassword(String token, String newPassword) {
-        User user = userRepository.findByResetToken(token)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid or expired reset link"));
-        if (user.getResetTokenExpiry() == null || user.getResetTokenExpiry().isBefore(Instant.now())) {
-            user.setResetToken(null);
-            user.setResetTokenExpiry(null);
+        String tokenHash = TokenDigests.sha256Hex(token);
+        findLiveResetToken(tokenHash);
+        String passwordHash = passwordHasher.encode(newPassword);
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = findLiveResetToken(tokenHash).getUser();
+            user.setPassword(passwordHash);
+            user.setUpdatedAt(Instant.now());
             userRepository.save(user);
-            throw new IllegalArgumentException("Invalid or expired reset link");
-        }
-        user.setPassword(passwordEncoder.encode(newPassword));
-        user.setResetToken(null);
-        user.setResetTokenExpiry(null);
-        user.setUpdatedAt(Instant.now());
-        userRepository.save(user);
+            resetTokenRepository.deleteByUserId(user.getId());
+            refreshTokenService.revokeAll(user.getId());
+            userAccountCache.evict(user.getEmail());
+        });
+    }
+
+    private PasswordResetToken findLiveResetToken(String tokenHash) {
+        return resetTokenRepository.findByTokenHash(tokenHash)
+                .filter(t -> t.getExpiresAt().isAfter(Instant.now()))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid or expired reset link"));
+    }
+
+    private AuthResponse issueTokens(User user) {
+        String token = jwtService.generateToken(user.getEmail(), user.getId(), user.getRole());
+        String refreshToken = refreshTokenService.issue(user.getId());
+        return AuthResponse.of(token, refreshToken, toUserResponse(user));
     }
 
     private static UserResponse toUserResponse(User user) {
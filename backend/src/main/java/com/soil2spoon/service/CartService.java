@@ -26,19 +26,15 @@ public class CartService {
     private final ProductRepository productRepository;
 
     @Transactional(readOnly = true)
-    public List<CartItemResponse> getCart(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        return cartItemRepository.findByUserIdOrderByIdAsc(user.getId()).stream()
+    public List<CartItemResponse> getCart(Long userId) {
+        return cartItemRepository.findByUserIdOrderByIdAsc(userId).stream()
                 .map(CartItemResponse::from)
                 .collect(Collectors.toList());
     }
 
     @Transactional
-    public List<CartItemResponse> setCart(String userEmail, List<CartItemRequest> items) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        cartItemRepository.deleteByUserId(user.getId());
+    public List<CartItemResponse> setCart(Long userId, List<CartItemRequest> items) {
+        cartItemRepository.deleteByUserId(userId);
         if (items == null || items.isEmpty()) {
             return List.of();
         }
@@ -48,6 +44,7 @@ public class CartService {
                 .toList();
         Map<Long, Product> products = productRepository.findAllById(productIds).stream()
                 .collect(Collectors.toMap(Product::getId, p -> p));
+        User user = userRepository.getReferenceById(userId);
         List<CartItem> toSave = new ArrayList<>();
         for (CartItemRequest req : items) {
             if (req.getQuantity() < 1) continue;
@@ -60,7 +57,7 @@ public class CartService {
                     .build());
         }
         cartItemRepository.saveAll(toSave);
-        return cartItemRepository.findByUserIdOrderByIdAsc(user.getId()).stream()
+        return cartItemRepository.findByUserIdOrderByIdAsc(userId).stream()
                 .map(CartItemResponse::from)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,244 @@
+package com.soil2spoon.service;
+
+import com.soil2spoon.domain.OutboundEmail;
+import com.soil2spoon.repository.OutboundEmailRepository;
+import com.soil2spoon.support.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains the {@code outbound_emails} outbox on a background virtual thread.
+ * Due emails are leased in batches and handed to {@link JavaMailSender#send(MimeMessage...)} in one call,
+ * which sends the whole batch over a single SMTP connection. Failed sends are retried with exponential
+ * backoff until {@code app.mail.outbox.max-attempts} is reached, after which the row is marked FAILED.
+ * The lease (a conditional update of next_attempt_at) keeps several app instances from sending the same email.
+ * Point {@code spring.mail.*} at a local fake SMTP server (e.g. MailHog) to exercise it in dev.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher implements MetricsSource {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboundEmailRepository outboundEmailRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final String mailUsername;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long leaseMs;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public EmailOutboxDispatcher(
+            OutboundEmailRepository outboundEmailRepository,
+            JavaMailSender mailSender,
+            PlatformTransactionManager transactionManager,
+            @Value("${spring.mail.username:}") String mailUsername,
+            @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+            @Value("${app.mail.outbox.poll-interval-ms:5000}") long pollIntervalMs,
+            @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${app.mail.outbox.initial-backoff-ms:30000}") long initialBackoffMs,
+            @Value("${app.mail.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+            @Value("${app.mail.outbox.lease-ms:300000}") long leaseMs) {
+        this.outboundEmailRepository = outboundEmailRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mailUsername = mailUsername;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.leaseMs = leaseMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (mailUsername == null || mailUsername.isBlank()) {
+            log.info("Email outbox dispatcher not started: mail is not configured");
+            return;
+        }
+        running = true;
+        worker = Thread.ofVirtual().name("email-outbox").start(this::run);
+    }
+
+    /** Signals that new emails were committed to the outbox. */
+    public void wakeUp() {
+        wakeUps.release();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        Thread t = worker;
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (dispatchBatch() < batchSize) {
+                    wakeUps.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("Email outbox dispatch failed", e);
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Leases, sends and records one batch of due emails. Returns the number of due rows found. */
+    int dispatchBatch() {
+        Instant now = Instant.now();
+        Instant leaseUntil = now.plusMillis(leaseMs);
+        List<OutboundEmail> due = transactionTemplate.execute(status -> {
+            List<OutboundEmail> candidates = outboundEmailRepository.findDue(now, PageRequest.of(0, batchSize));
+            List<OutboundEmail> claimed = new ArrayList<>(candidates.size());
+            for (OutboundEmail email : candidates) {
+                if (outboundEmailRepository.claim(email.getId(), now, leaseUntil) == 1) {
+                    claimed.add(email);
+                }
+            }
+            return claimed;
+        });
+        if (due == null || due.isEmpty()) {
+            return 0;
+        }
+
+        Map<OutboundEmail, String> errors = new IdentityHashMap<>();
+        Map<MimeMessage, OutboundEmail> messages = new LinkedHashMap<>();
+        for (OutboundEmail email : due) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                errors.put(email, e.getMessage());
+            }
+        }
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                // Per-message failures; anything not listed was accepted by the server
+                e.getFailedMessages().forEach((message, cause) -> {
+                    OutboundEmail email = messages.get(message);
+                    if (email != null) {
+                        errors.put(email, cause.getMessage());
+                    }
+                });
+                if (e.getFailedMessages().isEmpty()) {
+                    messages.values().forEach(email -> errors.put(email, e.getMessage()));
+                }
+            } catch (MailException e) {
+                // Connection or authentication failure: nothing in the batch was sent
+                messages.values().forEach(email -> errors.put(email, e.getMessage()));
+            }
+        }
+
+        Instant finishedAt = Instant.now();
+        for (OutboundEmail email : due) {
+            email.setAttempts(email.getAttempts() + 1);
+            String error = errors.get(email);
+            if (!errors.containsKey(email)) {
+                email.setStatus(OutboundEmail.Status.SENT);
+                email.setSentAt(finishedAt);
+                email.setLastError(null);
+                email.setHtmlBody(null);
+                sent.increment();
+            } else if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(OutboundEmail.Status.FAILED);
+                email.setLastError(truncate(error));
+                email.setHtmlBody(null);
+                failed.increment();
+                log.error("Giving up on email {} to {} after {} attempts: {}", email.getId(), email.getToAddress(), email.getAttempts(), error);
+            } else {
+                email.setNextAttemptAt(finishedAt.plus(backoff(email.getAttempts())));
+                email.setLastError(truncate(error));
+                retried.increment();
+                log.warn("Email {} to {} failed (attempt {}), retrying at {}: {}",
+                        email.getId(), email.getToAddress(), email.getAttempts(), email.getNextAttemptAt(), error);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> outboundEmailRepository.saveAll(due));
+        return due.size();
+    }
+
+    private MimeMessage toMimeMessage(OutboundEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
+        helper.setTo(email.getToAddress());
+        helper.setSubject(email.getSubject());
+        helper.setFrom(mailUsername);
+        helper.setText(email.getHtmlBody(), true);
+        return message;
+    }
+
+    private Duration backoff(int attempts) {
+        long delay = initialBackoffMs << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, maxBackoffMs));
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    @Override
+    public String metricsName() {
+        return "emailOutbox";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("running", running);
+        m.put("sent", sent.sum());
+        m.put("retried", retried.sum());
+        m.put("failed", failed.sum());
+        return m;
+    }
+}
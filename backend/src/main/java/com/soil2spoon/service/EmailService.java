@@ -1,22 +1,23 @@
 package com.soil2spoon.service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.soil2spoon.domain.OutboundEmail;
+import com.soil2spoon.repository.OutboundEmailRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final OutboundEmailRepository outboundEmailRepository;
+    private final EmailOutboxDispatcher outboxDispatcher;
 
     @Value("${app.frontend.base-url:}")
     private String frontendBaseUrl;
@@ -25,7 +26,8 @@ public class EmailService {
     private String mailUsername;
 
     /**
-     * Sends a password reset email with a link. Only sends if mail is configured.
+     * Queues a password reset email with a link. Only queues if mail is configured; the email is written to
+     * the outbox in the caller's transaction and delivered by {@link EmailOutboxDispatcher} after commit.
      * When mail is not configured, returns the reset link so the API can return it to the client (e.g. for dev/testing).
      */
     public SendResult sendPasswordResetEmail(String toEmail, String resetToken) {
@@ -40,28 +42,40 @@ public class EmailService {
             return new SendResult(false, resetLink);
         }
 
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
-            helper.setTo(toEmail);
-            helper.setSubject("Reset your password – Soil2Spoon");
-            helper.setFrom(mailUsername);
-            String html = """
-                <p>Hi,</p>
-                <p>You requested a password reset. Click the link below to set a new password (link expires in 1 hour):</p>
-                <p><a href="%s">Reset password</a></p>
-                <p>If you didn't request this, you can ignore this email.</p>
-                <p>— Soil2Spoon</p>
-                """.formatted(resetLink);
-            helper.setText(html, true);
-            mailSender.send(message);
-            log.info("Password reset email sent to {}", toEmail);
-            return new SendResult(true, null);
-        } catch (MessagingException e) {
-            log.error("Failed to send password reset email to {}", toEmail, e);
-            throw new IllegalStateException("Failed to send password reset email. Please try again later.");
+        String html = """
+            <p>Hi,</p>
+            <p>You requested a password reset. Click the link below to set a new password (link expires in 1 hour):</p>
+            <p><a href="%s">Reset password</a></p>
+            <p>If you didn't request this, you can ignore this email.</p>
+            <p>— Soil2Spoon</p>
+            """.formatted(resetLink);
+        enqueue(toEmail, "Reset your password – Soil2Spoon", html);
+        log.info("Password reset email queued for {}", toEmail);
+        return new SendResult(true, null);
+    }
+
+    private void enqueue(String toEmail, String subject, String html) {
+        Instant now = Instant.now();
+        outboundEmailRepository.save(OutboundEmail.builder()
+                .toAddress(toEmail)
+                .subject(subject)
+                .htmlBody(html)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        // Wake the dispatcher once the row is visible to it instead of waiting for the next poll
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxDispatcher.wakeUp();
+                }
+            });
+        } else {
+            outboxDispatcher.wakeUp();
         }
     }
 
-    public record SendResult(boolean sent, String resetLinkWhenNotSent) {}
+    /** {@code queued} is true when the email was handed to the outbox for delivery. */
+    public record SendResult(boolean queued, String resetLinkWhenNotSent) {}
 }
@@ -0,0 +1,184 @@
+package com.soil2spoon.service;
+
+import com.soil2spoon.support.BoundedTtlCache;
+import com.soil2spoon.support.MetricsSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Remembers geocoding verdicts per normalized address + pincode, so re-validating a saved address
+ * (e.g. checking out to it again) does not call the Geocoding API. Valid and invalid verdicts have separate
+ * TTLs; transient upstream failures are never cached.
+ * <p>
+ * Persistence is opt-in: with {@code app.geocoding.cache.file} set, the cache is saved to that TSV file
+ * periodically and on shutdown, and reloaded on startup, so it survives restarts. The keys are customers'
+ * normalized street addresses and pincodes, i.e. personal data, written unencrypted; the file is created
+ * owner-readable only, and should live on an encrypted volume with the same retention rules as the database.
+ */
+@Component
+@Slf4j
+public class GeocodingCache implements MetricsSource {
+
+    private static final String FILE_HEADER = "# soil2spoon geocoding cache v1";
+
+    private final BoundedTtlCache<String, Verdict> cache;
+    private final long positiveTtlMs;
+    private final long negativeTtlMs;
+    private final Path file;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public GeocodingCache(
+            @Value("${app.geocoding.cache.max-entries:50000}") int maxEntries,
+            @Value("${app.geocoding.cache.positive-ttl-ms:2592000000}") long positiveTtlMs,
+            @Value("${app.geocoding.cache.negative-ttl-ms:86400000}") long negativeTtlMs,
+            @Value("${app.geocoding.cache.file:}") String file) {
+        this.cache = new BoundedTtlCache<>(maxEntries, positiveTtlMs);
+        this.positiveTtlMs = positiveTtlMs;
+        this.negativeTtlMs = negativeTtlMs;
+        this.file = file == null || file.isBlank() ? null : Path.of(file);
+    }
+
+    /** Cache key: the address lowercased with punctuation and repeated whitespace collapsed, plus the pincode digits. */
+    public static String key(String fullAddress, String pincode) {
+        String address = fullAddress == null ? "" : fullAddress.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+        String digits = pincode == null ? "" : pincode.replaceAll("\\D", "");
+        return address + "|" + digits;
+    }
+
+    /** Returns the cached verdict, or null if the address has to be geocoded. */
+    public Verdict get(String key) {
+        return cache.get(key);
+    }
+
+    public void put(String key, Verdict verdict) {
+        long ttl = verdict.valid() ? positiveTtlMs : negativeTtlMs;
+        cache.put(key, verdict, System.currentTimeMillis() + ttl);
+        dirty.set(true);
+    }
+
+    @PostConstruct
+    void load() {
+        if (file == null || !Files.isRegularFile(file)) {
+            return;
+        }
+        int loaded = 0;
+        long now = System.currentTimeMillis();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                // expiresAtMillis \t valid(1|0) \t message \t key
+                String[] parts = line.split("\t", 4);
+                if (parts.length != 4) {
+                    continue;
+                }
+                try {
+                    long expiresAt = Long.parseLong(parts[0]);
+                    if (expiresAt > now) {
+                        Verdict verdict = "1".equals(parts[1]) ? Verdict.VALID : Verdict.invalid(parts[2]);
+                        cache.put(parts[3], verdict, expiresAt);
+                        loaded++;
+                    }
+                } catch (NumberFormatException e) {
+                    // skip corrupt line
+                }
+            }
+            log.info("Loaded {} geocoding cache entries from {}", loaded, file);
+        } catch (IOException e) {
+            log.warn("Could not load geocoding cache from {}: {}", file, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.geocoding.cache.persist-interval-ms:300000}",
+            initialDelayString = "${app.geocoding.cache.persist-interval-ms:300000}")
+    public void persistIfChanged() {
+        if (file != null && dirty.getAndSet(false)) {
+            persist();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        persistIfChanged();
+    }
+
+    /** Writes all live entries to a temp file next to the target, then moves it into place. */
+    private void persist() {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                writer.write(FILE_HEADER);
+                writer.newLine();
+                for (BoundedTtlCache.Entry<String, Verdict> e : cache.entries()) {
+                    Verdict v = e.value();
+                    writer.write(e.expiresAtMillis() + "\t" + (v.valid() ? "1" : "0") + "\t"
+                            + sanitize(v.message()) + "\t" + e.key());
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Could not save geocoding cache to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String sanitize(String message) {
+        return message == null ? "" : message.replaceAll("[\\t\\r\\n]", " ");
+    }
+
+    @Override
+    public String metricsName() {
+        return "geocodingCache";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        long hits = cache.hitCount();
+        long misses = cache.missCount();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("size", cache.size());
+        m.put("hits", hits);
+        m.put("misses", misses);
+        m.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        m.put("persisted", file != null);
+        return m;
+    }
+
+    /** Outcome of a definitive geocoding check; {@code message} is the user-facing reason when invalid. */
+    public record Verdict(boolean valid, String message) {
+
+        static final Verdict VALID = new Verdict(true, null);
+
+        static Verdict invalid(String message) {
+            return new Verdict(false, message);
+        }
+    }
+}
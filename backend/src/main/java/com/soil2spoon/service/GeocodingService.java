@@ -1,7 +1,9 @@
 package com.soil2spoon.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import lombok.RequiredArgsConstructor;
+import com.soil2spoon.support.CircuitBreaker;
+import com.soil2spoon.support.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -9,34 +11,176 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Validates addresses using Google Geocoding API.
  * If no API key is configured ({@code app.geocoding.api-key}), validation is skipped (no-op).
  * Flow: build full address string → call Geocoding API → if no result or not in India / pincode mismatch → invalid.
+ * <p>
+ * Remote calls go through a bulkhead (at most {@code app.geocoding.bulkhead.max-concurrent} in flight) and a
+ * circuit breaker. When the upstream is unavailable (timeout, error status, open circuit, full bulkhead) the
+ * {@code app.geocoding.fallback} setting decides: {@code accept} lets the address through as
+ * {@link Outcome#PENDING_VERIFICATION}, {@code reject} fails the request as before.
+ * <p>
+ * {@code REQUEST_DENIED} (bad or restricted API key, billing disabled) is a configuration error rather than an
+ * outage: it is logged at ERROR and counted under {@code configErrors}, the address is treated as unavailable,
+ * and the circuit breaker is left alone so that it keeps reflecting the upstream's health.
  */
 @Service
-@RequiredArgsConstructor
-public class GeocodingService {
+@Slf4j
+public class GeocodingService implements MetricsSource {
 
-    private static final String GEOCODE_URL = "https://maps.googleapis.com/maps/api/geocode/json";
+    private static final String UNAVAILABLE_MESSAGE = "Address verification is temporarily unavailable. Please try again.";
+    /** Returned by {@link #geocode} when the API rejected our request; never cached. */
+    private static final GeocodingCache.Verdict DENIED = new GeocodingCache.Verdict(false, null);
+
+    public enum Outcome {
+        /** Verified by the geocoder, or verification is switched off. */
+        ACCEPTED,
+        /** Geocoder unavailable and the fallback accepted the address unverified. */
+        PENDING_VERIFICATION
+    }
 
     private final RestTemplate restTemplate;
+    private final GeocodingCache geocodingCache;
+    private final String apiKey;
+    private final String baseUrl;
+    private final boolean fallbackAccept;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final int maxConcurrent;
+    private final long bulkheadWaitMs;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+    private final LongAdder bulkheadRejected = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder configErrors = new LongAdder();
+
+    public GeocodingService(
+            RestTemplate restTemplate,
+            GeocodingCache geocodingCache,
+            @Value("${app.geocoding.api-key:}") String apiKey,
+            @Value("${app.geocoding.base-url:https://maps.googleapis.com/maps/api/geocode/json}") String baseUrl,
+            @Value("${app.geocoding.fallback:accept}") String fallback,
+            @Value("${app.geocoding.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${app.geocoding.circuit.open-ms:30000}") long openMs,
+            @Value("${app.geocoding.bulkhead.max-concurrent:10}") int maxConcurrent,
+            @Value("${app.geocoding.bulkhead.max-wait-ms:200}") long bulkheadWaitMs) {
+        this.restTemplate = restTemplate;
+        this.geocodingCache = geocodingCache;
+        this.apiKey = apiKey;
+        this.baseUrl = baseUrl;
+        this.fallbackAccept = "accept".equalsIgnoreCase(fallback.trim());
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMs);
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+        this.bulkheadWaitMs = bulkheadWaitMs;
+    }
 
-    @Value("${app.geocoding.api-key:}")
-    private String apiKey;
+    /** Result of a remote check before any fallback is applied. */
+    public enum VerificationStatus { VERIFIED, INVALID, UNAVAILABLE }
+
+    /** {@code message} is the user-facing reason when {@code status} is INVALID. */
+    public record Verification(VerificationStatus status, String message) {}
 
     /**
      * Validates that the address can be geocoded and that the result matches India and the given pincode (and optionally city/state).
-     * @throws IllegalArgumentException if API key is set and address is invalid or could not be verified
+     * Verdicts are cached per normalized address and pincode ({@link GeocodingCache}); a cache hit makes no HTTP call.
+     * @return {@link Outcome#PENDING_VERIFICATION} when the geocoder was unavailable and the fallback accepted the address
+     * @throws IllegalArgumentException if API key is set and address is invalid, or could not be verified and the fallback rejects
+     */
+    public Outcome validateAddress(String addressLine1, String addressLine2, String city, String state, String pincode) {
+        Verification verification = verify(addressLine1, addressLine2, city, state, pincode);
+        if (verification.status() == VerificationStatus.INVALID) {
+            throw new IllegalArgumentException(verification.message());
+        }
+        if (verification.status() == VerificationStatus.UNAVAILABLE) {
+            return unavailable();
+        }
+        return Outcome.ACCEPTED;
+    }
+
+    /**
+     * Same check as {@link #validateAddress} but reports an unavailable geocoder instead of applying the fallback,
+     * for callers that retry later (e.g. {@link OrderAddressVerifier}).
      */
-    public void validateAddress(String addressLine1, String addressLine2, String city, String state, String pincode) {
+    public Verification verify(String addressLine1, String addressLine2, String city, String state, String pincode) {
         if (apiKey == null || apiKey.isBlank()) {
-            return; // skip when no API key (e.g. local dev)
+            return new Verification(VerificationStatus.VERIFIED, null); // skip when no API key (e.g. local dev)
         }
         String fullAddress = buildAddressString(addressLine1, addressLine2, city, state, pincode);
-        URI url = UriComponentsBuilder.fromHttpUrl(GEOCODE_URL)
+        String cacheKey = GeocodingCache.key(fullAddress, pincode);
+        GeocodingCache.Verdict verdict = geocodingCache.get(cacheKey);
+        if (verdict == null) {
+            verdict = callGeocoder(fullAddress, pincode);
+            if (verdict == null) {
+                return new Verification(VerificationStatus.UNAVAILABLE, UNAVAILABLE_MESSAGE);
+            }
+            geocodingCache.put(cacheKey, verdict);
+        }
+        return verdict.valid()
+                ? new Verification(VerificationStatus.VERIFIED, null)
+                : new Verification(VerificationStatus.INVALID, verdict.message());
+    }
+
+    private Outcome unavailable() {
+        if (!fallbackAccept) {
+            throw new IllegalArgumentException(UNAVAILABLE_MESSAGE);
+        }
+        fallbacks.increment();
+        return Outcome.PENDING_VERIFICATION;
+    }
+
+    /** Runs the remote call inside the bulkhead and circuit breaker. Returns null if the geocoder was unavailable. */
+    private GeocodingCache.Verdict callGeocoder(String fullAddress, String pincode) {
+        boolean permitted;
+        try {
+            permitted = bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permitted = false;
+        }
+        if (!permitted) {
+            bulkheadRejected.increment();
+            return null;
+        }
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                shortCircuited.increment();
+                return null;
+            }
+            calls.increment();
+            GeocodingCache.Verdict verdict = geocode(fullAddress, pincode);
+            if (verdict == DENIED) {
+                circuitBreaker.onIgnored();
+                return null;
+            }
+            if (verdict == null) {
+                failures.increment();
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            return verdict;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Calls the Geocoding API and turns a definitive answer into a verdict.
+     * Returns null for transient failures (network errors, timeouts, quota, server errors), which must not be cached,
+     * and {@link #DENIED} when the API refused the request.
+     */
+    private GeocodingCache.Verdict geocode(String fullAddress, String pincode) {
+        URI url = UriComponentsBuilder.fromHttpUrl(baseUrl)
                 .queryParam("address", fullAddress)
                 .queryParam("key", apiKey)
                 .queryParam("region", "in") // bias to India
@@ -47,25 +191,34 @@ public class GeocodingService {
         try {
             response = restTemplate.getForEntity(url, JsonNode.class);
         } catch (Exception e) {
-            throw new IllegalArgumentException("Address verification is temporarily unavailable. Please try again.");
+            log.warn("Geocoding call failed: {}", e.getMessage());
+            return null;
         }
 
         JsonNode body = response.getBody();
         if (body == null) {
-            throw new IllegalArgumentException("Address could not be verified. Please check pincode, city and state.");
+            return null;
         }
 
         String status = body.path("status").asText("");
         if ("ZERO_RESULTS".equals(status) || "INVALID_REQUEST".equals(status)) {
-            throw new IllegalArgumentException("Address could not be verified. Please check pincode, city and state.");
+            return GeocodingCache.Verdict.invalid("Address could not be verified. Please check pincode, city and state.");
+        }
+        if ("REQUEST_DENIED".equals(status)) {
+            configErrors.increment();
+            log.error("Geocoding API denied the request, check app.geocoding.api-key: {}",
+                    body.path("error_message").asText(""));
+            return DENIED;
         }
         if (!"OK".equals(status)) {
-            throw new IllegalArgumentException("Address could not be verified. Please check pincode, city and state.");
+            // OVER_QUERY_LIMIT, UNKNOWN_ERROR: says nothing about the address itself
+            log.warn("Geocoding API returned status {}", status);
+            return null;
         }
 
         JsonNode results = body.path("results");
         if (!results.isArray() || results.isEmpty()) {
-            throw new IllegalArgumentException("Address could not be verified. Please check pincode, city and state.");
+            return GeocodingCache.Verdict.invalid("Address could not be verified. Please check pincode, city and state.");
         }
 
         // Verify first result is in India and pincode matches
@@ -73,15 +226,36 @@ public class GeocodingService {
         String resultPincode = extractComponent(firstResult, "postal_code");
         String resultCountry = extractComponent(firstResult, "country");
         if (resultCountry != null && !resultCountry.toLowerCase().contains("india")) {
-            throw new IllegalArgumentException("Address must be in India. Please check city, state and pincode.");
+            return GeocodingCache.Verdict.invalid("Address must be in India. Please check city, state and pincode.");
         }
         if (resultPincode != null && pincode != null) {
             String normalizedInput = pincode.replaceAll("\\D", "");
             String normalizedResult = resultPincode.replaceAll("\\D", "");
             if (!normalizedInput.equals(normalizedResult)) {
-                throw new IllegalArgumentException("Pincode does not match the address. Please check pincode, city and state.");
+                return GeocodingCache.Verdict.invalid("Pincode does not match the address. Please check pincode, city and state.");
             }
         }
+        return GeocodingCache.Verdict.VALID;
+    }
+
+    @Override
+    public String metricsName() {
+        return "geocoding";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("circuitState", circuitBreaker.state().name());
+        m.put("circuitOpened", circuitBreaker.timesOpened());
+        m.put("inFlight", maxConcurrent - bulkhead.availablePermits());
+        m.put("calls", calls.sum());
+        m.put("failures", failures.sum());
+        m.put("shortCircuited", shortCircuited.sum());
+        m.put("bulkheadRejected", bulkheadRejected.sum());
+        m.put("fallbackAccepted", fallbacks.sum());
+        m.put("configErrors", configErrors.sum());
+        return m;
     }
 
     private String buildAddressString(String line1, String line2, String city, String state, String pincode) {
@@ -0,0 +1,196 @@
+package com.soil2spoon.service;
+
+import com.soil2spoon.domain.Order;
+import com.soil2spoon.domain.Order.OrderStatus;
+import com.soil2spoon.repository.OrderRepository;
+import com.soil2spoon.support.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verifies the shipping address of orders in {@link OrderStatus#PENDING_VERIFICATION} off the checkout path.
+ * Each order is checked on its own virtual thread once the order transaction has committed, so checkout
+ * neither waits for the geocoder nor holds a DB transaction during the call. The order then moves to
+ * CONFIRMED or VERIFICATION_FAILED with a conditional update. While the geocoder is unavailable the order
+ * stays pending and a periodic sweep retries it (this also picks up orders left over from a restart).
+ * <p>
+ * Every check counts an attempt on the order and moves its {@code next_verification_at} out with exponential
+ * backoff before calling the geocoder, and the sweep takes the orders that are due earliest first, so a long
+ * outage cannot starve newer orders behind the oldest ones. After {@code app.orders.verification.max-attempts}
+ * unavailable answers the order is moved to VERIFICATION_FAILED for manual follow-up.
+ */
+@Component
+@Slf4j
+public class OrderAddressVerifier implements MetricsSource {
+
+    private final OrderRepository orderRepository;
+    private final GeocodingService geocodingService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore concurrency;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final long retryAfterMs;
+    private final int retryBatchSize;
+    private final int maxAttempts;
+    private final long maxBackoffMs;
+
+    private final LongAdder confirmed = new LongAdder();
+    private final LongAdder flagged = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    private final LongAdder gaveUp = new LongAdder();
+
+    public OrderAddressVerifier(
+            OrderRepository orderRepository,
+            GeocodingService geocodingService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.orders.verification.max-concurrent:16}") int maxConcurrent,
+            @Value("${app.orders.verification.retry-after-ms:60000}") long retryAfterMs,
+            @Value("${app.orders.verification.retry-batch-size:100}") int retryBatchSize,
+            @Value("${app.orders.verification.max-attempts:12}") int maxAttempts,
+            @Value("${app.orders.verification.max-backoff-ms:3600000}") long maxBackoffMs) {
+        this.orderRepository = orderRepository;
+        this.geocodingService = geocodingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.concurrency = new Semaphore(maxConcurrent);
+        this.retryAfterMs = retryAfterMs;
+        this.retryBatchSize = retryBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        submit(event.orderId());
+    }
+
+    /** Re-submits pending orders whose next check is due (geocoder was down, or the app restarted). */
+    @Scheduled(fixedDelayString = "${app.orders.verification.retry-after-ms:60000}",
+            initialDelayString = "${app.orders.verification.retry-after-ms:60000}")
+    public void retryPending() {
+        List<Long> ids = orderRepository.findIdsDueForVerification(
+                OrderStatus.PENDING_VERIFICATION,
+                Instant.now(),
+                PageRequest.of(0, retryBatchSize));
+        ids.forEach(this::submit);
+    }
+
+    private void submit(Long orderId) {
+        if (!inFlight.add(orderId)) {
+            return;
+        }
+        try {
+            executor.submit(() -> {
+                try {
+                    concurrency.acquire();
+                    try {
+                        verify(orderId);
+                    } finally {
+                        concurrency.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    log.error("Address verification failed for order {}", orderId, e);
+                } finally {
+                    inFlight.remove(orderId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(orderId); // shutting down; the retry sweep picks it up after restart
+        }
+    }
+
+    private void verify(Long orderId) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null || order.getStatus() != OrderStatus.PENDING_VERIFICATION) {
+            return;
+        }
+        int attempt = order.getVerificationAttempts() + 1;
+        Instant next = Instant.now().plus(backoff(attempt));
+        Integer claimed = transactionTemplate.execute(status ->
+                orderRepository.recordVerificationAttempt(orderId, OrderStatus.PENDING_VERIFICATION, next));
+        if (claimed == null || claimed != 1) {
+            return;
+        }
+        GeocodingService.Verification verification = geocodingService.verify(
+                order.getShippingAddressLine1(),
+                order.getShippingAddressLine2(),
+                order.getShippingCity(),
+                order.getShippingState(),
+                order.getShippingPincode());
+        switch (verification.status()) {
+            case VERIFIED -> {
+                if (transition(orderId, OrderStatus.CONFIRMED)) {
+                    confirmed.increment();
+                }
+            }
+            case INVALID -> {
+                if (transition(orderId, OrderStatus.VERIFICATION_FAILED)) {
+                    flagged.increment();
+                    log.warn("Order {} flagged: shipping address failed verification ({})", orderId, verification.message());
+                }
+            }
+            default -> {
+                if (attempt < maxAttempts) {
+                    deferred.increment();
+                } else if (transition(orderId, OrderStatus.VERIFICATION_FAILED)) {
+                    gaveUp.increment();
+                    log.warn("Order {} flagged: shipping address could not be verified after {} attempts", orderId, attempt);
+                }
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long delay = retryAfterMs << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, maxBackoffMs));
+    }
+
+    private boolean transition(Long orderId, OrderStatus to) {
+        Integer updated = transactionTemplate.execute(status ->
+                orderRepository.updateStatus(orderId, OrderStatus.PENDING_VERIFICATION, to));
+        return updated != null && updated == 1;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String metricsName() {
+        return "orderAddressVerification";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("inFlight", inFlight.size());
+        m.put("confirmed", confirmed.sum());
+        m.put("flagged", flagged.sum());
+        m.put("deferred", deferred.sum());
+        m.put("gaveUp", gaveUp.sum());
+        return m;
+    }
+}
@@ -0,0 +1,4 @@
+package com.soil2spoon.service;
+
+/** Published inside the order transaction for an order whose shipping address still needs remote verification. */
+public record OrderPlacedEvent(Long orderId) {}
@@ -4,13 +4,13 @@ import com.soil2spoon.domain.CartItem;
 import com.soil2spoon.domain.Order;
 import com.soil2spoon.domain.OrderItem;
 import com.soil2spoon.domain.Order.OrderStatus;
-import com.soil2spoon.domain.User;
 import com.soil2spoon.dto.CreateOrderRequest;
 import com.soil2spoon.dto.OrderResponse;
 import com.soil2spoon.repository.CartItemRepository;
 import com.soil2spoon.repository.OrderRepository;
 import com.soil2spoon.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,19 +27,18 @@ public class OrderService {
     private final CartItemRepository cartItemRepository;
     private final OrderRepository orderRepository;
     private final AddressService addressService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
-    public OrderResponse createOrder(String userEmail, CreateOrderRequest request) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        List<CartItem> cartItems = cartItemRepository.findByUserIdOrderByIdAsc(user.getId());
+    public OrderResponse createOrder(Long userId, CreateOrderRequest request) {
+        List<CartItem> cartItems = cartItemRepository.findByUserIdOrderByIdAsc(userId);
         if (cartItems.isEmpty()) {
             throw new IllegalArgumentException("Cart is empty");
         }
         if (request == null || !hasShippingData(request)) {
             throw new IllegalArgumentException("Shipping address is required");
         }
-        addressService.validateShippingAddress(
+        boolean needsVerification = addressService.validateShippingAddress(
                 request.getShippingName(),
                 request.getShippingPhone(),
                 request.getShippingAddressLine1(),
@@ -60,11 +59,13 @@ public class OrderService {
                     .priceAtOrder(price)
                     .build());
         }
+        Instant now = Instant.now();
         Order order = Order.builder()
-                .user(user)
-                .orderDate(Instant.now())
+                .user(userRepository.getReferenceById(userId))
+                .orderDate(now)
                 .totalAmount(totalAmount)
-                .status(OrderStatus.PENDING)
+                .status(needsVerification ? OrderStatus.PENDING_VERIFICATION : OrderStatus.CONFIRMED)
+                .nextVerificationAt(needsVerification ? now : null)
                 .shippingName(request != null ? request.getShippingName() : null)
                 .shippingPhone(request != null ? request.getShippingPhone() : null)
                 .shippingAddressLine1(request != null ? request.getShippingAddressLine1() : null)
@@ -80,15 +81,16 @@ public class OrderService {
         }
         order.getItems().addAll(orderItems);
         orderRepository.save(order);
-        cartItemRepository.deleteByUserId(user.getId());
+        cartItemRepository.deleteByUserId(userId);
+        if (needsVerification) {
+            eventPublisher.publishEvent(new OrderPlacedEvent(order.getId()));
+        }
         return OrderResponse.from(order);
     }
 
     @Transactional(readOnly = true)
-    public List<OrderResponse> getOrders(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        return orderRepository.findByUserIdOrderByOrderDateDesc(user.getId()).stream()
+    public List<OrderResponse> getOrders(Long userId) {
+        return orderRepository.findByUserIdOrderByOrderDateDesc(userId).stream()
                 .map(OrderResponse::from)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,41 @@
+package com.soil2spoon.service;
+
+import com.soil2spoon.repository.OutboundEmailRepository;
+import com.soil2spoon.support.ChunkedDeleter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Periodically deletes SENT and FAILED outbox rows once they are older than the retention period, which keeps
+ * recipients' addresses and delivery errors around only as long as they are useful for troubleshooting.
+ */
+@Component
+public class OutboundEmailSweeper {
+
+    private final OutboundEmailRepository outboundEmailRepository;
+    private final ChunkedDeleter chunkedDeleter;
+    private final long retentionMs;
+    private final int batchSize;
+
+    public OutboundEmailSweeper(
+            OutboundEmailRepository outboundEmailRepository,
+            ChunkedDeleter chunkedDeleter,
+            @Value("${app.mail.outbox.retention-ms:604800000}") long retentionMs,
+            @Value("${app.mail.outbox.sweep-batch-size:500}") int batchSize) {
+        this.outboundEmailRepository = outboundEmailRepository;
+        this.chunkedDeleter = chunkedDeleter;
+        this.retentionMs = retentionMs;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.sweep-interval-ms:3600000}",
+            initialDelayString = "${app.mail.outbox.sweep-interval-ms:3600000}")
+    public void sweepFinished() {
+        Instant before = Instant.now().minusMillis(retentionMs);
+        chunkedDeleter.deleteAll("finished outbox emails", batchSize,
+                page -> outboundEmailRepository.findFinishedIds(before, page), outboundEmailRepository::deleteByIdIn);
+    }
+}
@@ -0,0 +1,35 @@
+package com.soil2spoon.service;
+
+import com.soil2spoon.repository.PasswordResetTokenRepository;
+import com.soil2spoon.support.ChunkedDeleter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/** Periodically deletes expired password reset tokens, which can no longer be redeemed. */
+@Component
+public class PasswordResetTokenSweeper {
+
+    private final PasswordResetTokenRepository resetTokenRepository;
+    private final ChunkedDeleter chunkedDeleter;
+    private final int batchSize;
+
+    public PasswordResetTokenSweeper(
+            PasswordResetTokenRepository resetTokenRepository,
+            ChunkedDeleter chunkedDeleter,
+            @Value("${app.auth.reset-token.sweep-batch-size:500}") int batchSize) {
+        this.resetTokenRepository = resetTokenRepository;
+        this.chunkedDeleter = chunkedDeleter;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.reset-token.sweep-interval-ms:600000}",
+            initialDelayString = "${app.auth.reset-token.sweep-interval-ms:600000}")
+    public void sweepExpired() {
+        Instant now = Instant.now();
+        chunkedDeleter.deleteAll("expired password reset tokens", batchSize,
+                page -> resetTokenRepository.findExpiredIds(now, page), resetTokenRepository::deleteByIdIn);
+    }
+}
@@ -0,0 +1,253 @@
+package com.soil2spoon.service;
+
+import com.soil2spoon.support.MetricsSource;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Offline first-pass check of Indian pincode / city / state combinations.
+ * Reads the binary directory built by {@code tools/PincodeDirectoryGenerator.java}: a 3-digit prefix to
+ * state bitmask table, plus (when generated from a full pincode CSV) a sorted int array of pincodes with
+ * their state and district. The file is memory-mapped and searched in place, so a lookup allocates
+ * nothing and takes well under a microsecond.
+ * <p>
+ * {@link Match#MISMATCH} is only returned when the data is certain (the state is known and cannot serve
+ * the pincode); anything ambiguous is {@link Match#UNKNOWN} and left to the remote geocoder.
+ */
+@Component
+@Slf4j
+public class PincodeDirectory implements MetricsSource {
+
+    private static final String BUNDLED_RESOURCE = "pincode/india-pincodes.bin";
+    private static final int MAGIC = 0x50494E31;
+    private static final int VERSION = 1;
+    private static final int PREFIXES = 1000;
+
+    /** Alternative spellings, kept in sync with PincodeDirectoryGenerator. */
+    private static final Map<String, String> STATE_ALIASES = Map.ofEntries(
+            Map.entry("orissa", "odisha"),
+            Map.entry("pondicherry", "puducherry"),
+            Map.entry("uttaranchal", "uttarakhand"),
+            Map.entry("nct of delhi", "delhi"),
+            Map.entry("new delhi", "delhi"),
+            Map.entry("andaman and nicobar", "andaman and nicobar islands"),
+            Map.entry("andaman nicobar islands", "andaman and nicobar islands"),
+            Map.entry("dadra and nagar haveli", "dadra and nagar haveli and daman and diu"),
+            Map.entry("daman and diu", "dadra and nagar haveli and daman and diu"),
+            Map.entry("the dadra and nagar haveli and daman and diu", "dadra and nagar haveli and daman and diu"),
+            Map.entry("jammu kashmir", "jammu and kashmir"),
+            Map.entry("chattisgarh", "chhattisgarh"),
+            Map.entry("telengana", "telangana"));
+
+    public enum Match {
+        /** Pincode, state and city agree with the directory; no remote check needed. */
+        MATCH,
+        /** The state cannot serve this pincode. */
+        MISMATCH,
+        /** Not decidable offline. */
+        UNKNOWN
+    }
+
+    private final String file;
+
+    private ByteBuffer data;
+    private String source;
+    private int prefixOffset;
+    private int entryCount;
+    private int pincodeOffset;
+    private int stateIndexOffset;
+    private int districtIndexOffset;
+    private String[] districts = new String[0];
+    private final Map<String, Integer> stateIndexes = new HashMap<>();
+
+    private final LongAdder matches = new LongAdder();
+    private final LongAdder mismatches = new LongAdder();
+    private final LongAdder unknown = new LongAdder();
+
+    public PincodeDirectory(@Value("${app.pincode.directory-file:}") String file) {
+        this.file = file;
+    }
+
+    @PostConstruct
+    void load() {
+        try {
+            ByteBuffer buffer = open();
+            parse(buffer);
+            log.info("Loaded pincode directory from {}: {} pincodes, {} districts", source, entryCount, districts.length);
+        } catch (IOException | RuntimeException e) {
+            data = null;
+            log.warn("Pincode directory unavailable ({}); all addresses go to the remote check", e.getMessage());
+        }
+    }
+
+    /** Maps the configured file; the bundled resource is mapped when it is a plain file (exploded classpath), else copied off-heap. */
+    private ByteBuffer open() throws IOException {
+        if (file != null && !file.isBlank()) {
+            source = file;
+            return map(Path.of(file));
+        }
+        ClassPathResource resource = new ClassPathResource(BUNDLED_RESOURCE);
+        source = "classpath:" + BUNDLED_RESOURCE;
+        if (resource.isFile()) {
+            return map(resource.getFile().toPath());
+        }
+        try (InputStream in = resource.getInputStream()) {
+            byte[] bytes = in.readAllBytes();
+            return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        }
+    }
+
+    private static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private void parse(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IllegalStateException("not a pincode directory v" + VERSION);
+        }
+        int stateCount = buffer.getInt();
+        if (stateCount > Long.SIZE) {
+            throw new IllegalStateException("too many states: " + stateCount);
+        }
+        for (int i = 0; i < stateCount; i++) {
+            stateIndexes.put(normalize(readString(buffer)), i);
+        }
+        STATE_ALIASES.forEach((alias, canonical) -> {
+            Integer index = stateIndexes.get(canonical);
+            if (index != null) {
+                stateIndexes.putIfAbsent(alias, index);
+            }
+        });
+        prefixOffset = buffer.position();
+        buffer.position(prefixOffset + PREFIXES * Long.BYTES);
+        districts = new String[buffer.getInt()];
+        for (int i = 0; i < districts.length; i++) {
+            districts[i] = normalize(readString(buffer));
+        }
+        entryCount = buffer.getInt();
+        pincodeOffset = buffer.position();
+        stateIndexOffset = pincodeOffset + entryCount * Integer.BYTES;
+        districtIndexOffset = stateIndexOffset + entryCount * Short.BYTES;
+        if (districtIndexOffset + entryCount * Integer.BYTES > buffer.limit()) {
+            throw new IllegalStateException("truncated pincode directory");
+        }
+        data = buffer;
+    }
+
+    /** Checks a pincode against the state (and, with district data, the city) the customer entered. */
+    public Match check(String pincode, String city, String state) {
+        Match result = lookup(pincode, city, state);
+        switch (result) {
+            case MATCH -> matches.increment();
+            case MISMATCH -> mismatches.increment();
+            default -> unknown.increment();
+        }
+        return result;
+    }
+
+    private Match lookup(String pincode, String city, String state) {
+        ByteBuffer buffer = data;
+        if (buffer == null || pincode == null || state == null) {
+            return Match.UNKNOWN;
+        }
+        String digits = pincode.replaceAll("\\D", "");
+        Integer stateIndex = stateIndexes.get(normalize(state));
+        if (digits.length() != 6 || stateIndex == null) {
+            return Match.UNKNOWN;
+        }
+        int pin = Integer.parseInt(digits);
+
+        int entry = findEntry(buffer, pin);
+        if (entry >= 0) {
+            int entryState = buffer.getShort(stateIndexOffset + entry * Short.BYTES);
+            if (entryState != stateIndex) {
+                return Match.MISMATCH;
+            }
+            String district = districts[buffer.getInt(districtIndexOffset + entry * Integer.BYTES)];
+            String normalizedCity = city == null ? "" : normalize(city);
+            return cityMatchesDistrict(normalizedCity, district) ? Match.MATCH : Match.UNKNOWN;
+        }
+
+        long stateMask = buffer.getLong(prefixOffset + (pin / 1000) * Long.BYTES);
+        if (stateMask != 0 && (stateMask & (1L << stateIndex)) == 0) {
+            return Match.MISMATCH;
+        }
+        return Match.UNKNOWN;
+    }
+
+    /** Binary search over the mapped, ascending pincode array. */
+    private int findEntry(ByteBuffer buffer, int pin) {
+        int lo = 0;
+        int hi = entryCount - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int value = buffer.getInt(pincodeOffset + mid * Integer.BYTES);
+            if (value < pin) {
+                lo = mid + 1;
+            } else if (value > pin) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xffff];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The city must be the district name or its leading whole words ("bangalore" for "bangalore urban"); a mere
+     * prefix such as "b" or "bang" is not enough to skip the remote check.
+     */
+    static boolean cityMatchesDistrict(String normalizedCity, String district) {
+        if (normalizedCity.isEmpty()) {
+            return false;
+        }
+        return district.equals(normalizedCity)
+                || (district.startsWith(normalizedCity) && district.charAt(normalizedCity.length()) == ' ');
+    }
+
+    private static String normalize(String s) {
+        return s.toLowerCase(Locale.ROOT).replace("&", " and ").replaceAll("[^a-z]+", " ").trim();
+    }
+
+    @Override
+    public String metricsName() {
+        return "pincodeDirectory";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("loaded", data != null);
+        m.put("source", source);
+        m.put("pincodes", entryCount);
+        m.put("districts", districts.length);
+        m.put("match", matches.sum());
+        m.put("mismatch", mismatches.sum());
+        m.put("unknown", unknown.sum());
+        return m;
+    }
+}
@@ -1,56 +1,300 @@
 package com.soil2spoon.service;
 
+import com.soil2spoon.catalog.CatalogChangedEvent;
+import com.soil2spoon.catalog.CatalogProduct;
+import com.soil2spoon.catalog.CatalogSnapshot;
+import com.soil2spoon.catalog.ProductCatalog;
 import com.soil2spoon.domain.Category;
 import com.soil2spoon.domain.Product;
 import com.soil2spoon.domain.ProductHighlights;
 import com.soil2spoon.domain.ProductInformation;
+import com.soil2spoon.dto.CursorPageResponse;
+import com.soil2spoon.dto.FacetValueResponse;
+import com.soil2spoon.dto.ProductFilterResponse;
 import com.soil2spoon.dto.ProductHighlightsRequest;
 import com.soil2spoon.dto.ProductInformationRequest;
 import com.soil2spoon.dto.ProductRequest;
 import com.soil2spoon.dto.ProductResponse;
+import com.soil2spoon.dto.ProductSearchResponse;
+import com.soil2spoon.dto.ProductSummaryResponse;
+import com.soil2spoon.dto.SuggestionResponse;
 import com.soil2spoon.repository.CategoryRepository;
 import com.soil2spoon.repository.ProductRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Product reads are served from the in-memory {@link ProductCatalog} snapshot (no SQL, no transaction);
+ * writes go to the database and publish a {@link CatalogChangedEvent} so the snapshot follows after commit.
+ */
 @Service
-@RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class ProductService {
 
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+    public static final int MAX_SEARCH_RESULTS = 1000;
+    public static final int MAX_SUGGESTIONS = ProductCatalog.MAX_SUGGESTIONS;
+    public static final int MAX_BATCH_SIZE = 100;
+    private static final String CURSOR_PREFIX = "id:";
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductCatalog catalog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ProductService(
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            ProductCatalog catalog,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.catalog = catalog;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
-    public Page<ProductResponse> findAll(String categoryId, Pageable pageable) {
-        if (categoryId == null || categoryId.isBlank()) {
-            return productRepository.findAll(pageable).map(ProductResponse::from);
+    /**
+     * Offset page of the category (or whole catalog), in id order or in {@code sort} order (see
+     * {@link CatalogSnapshot.SortOrder#fromParam}); sorted pages are sliced from the snapshot's sort orders.
+     * @throws IllegalArgumentException for an unknown sort
+     * @throws IllegalStateException when a sort is requested while the catalog snapshot is disabled
+     */
+    public Page<ProductResponse> findAll(String categoryId, String sort, Pageable pageable) {
+        CatalogSnapshot.SortOrder order = sortOrder(sort);
+        if (catalog.isEnabled()) {
+            CatalogSnapshot snapshot = catalog.snapshot();
+            List<ProductResponse> content = snapshot.page(categoryId, order, pageable.getOffset(), pageable.getPageSize()).stream()
+                    .map(ProductResponse::from)
+                    .collect(Collectors.toList());
+            return new PageImpl<>(content, pageable, snapshot.count(categoryId));
         }
-        return productRepository.findAllByCategoryOptional(categoryId, pageable).map(ProductResponse::from);
+        return readOnlyTransaction.execute(status -> {
+            if (categoryId == null || categoryId.isBlank()) {
+                return productRepository.findAll(pageable).map(ProductResponse::from);
+            }
+            return productRepository.findAllByCategoryOptional(categoryId, pageable).map(ProductResponse::from);
+        });
+    }
+
+    /**
+     * Keyset listing in id order, or in {@code sort} order: the page after {@code cursor} (null or blank for the
+     * first page), with no total count. The cursor carries the last product's sort key and id, so each page seeks
+     * straight to its start and the cost does not depend on how far into the listing the cursor is.
+     * @throws IllegalArgumentException for an unknown sort, or a cursor not issued by this endpoint for this sort
+     * @throws IllegalStateException when a sort is requested while the catalog snapshot is disabled
+     */
+    public CursorPageResponse<ProductResponse> findAfter(String categoryId, String sort, String cursor, int size) {
+        return cursorPage(categoryId, sort, cursor, size, ProductResponse::from, ProductResponse::getId,
+                (category, afterId, limit) -> productRepository.findPageAfter(category, afterId, limit).stream()
+                        .map(ProductResponse::from)
+                        .collect(Collectors.toList()));
+    }
+
+    /** {@link #findAfter} with card fields only. */
+    public CursorPageResponse<ProductSummaryResponse> findSummariesAfter(String categoryId, String sort, String cursor,
+                                                                        int size) {
+        return cursorPage(categoryId, sort, cursor, size, ProductSummaryResponse::from, ProductSummaryResponse::getId,
+                productRepository::findSummariesAfter);
+    }
+
+    /** {@link #findAll} with card fields only; the database path is a single constructor-projection query. */
+    public Page<ProductSummaryResponse> findAllSummaries(String categoryId, String sort, Pageable pageable) {
+        CatalogSnapshot.SortOrder order = sortOrder(sort);
+        if (catalog.isEnabled()) {
+            CatalogSnapshot snapshot = catalog.snapshot();
+            List<ProductSummaryResponse> content = snapshot.page(categoryId, order, pageable.getOffset(), pageable.getPageSize()).stream()
+                    .map(ProductSummaryResponse::from)
+                    .collect(Collectors.toList());
+            return new PageImpl<>(content, pageable, snapshot.count(categoryId));
+        }
+        String category = categoryId == null || categoryId.isBlank() ? null : categoryId;
+        return readOnlyTransaction.execute(status -> productRepository.findSummaries(category, pageable));
+    }
+
+    /** Number of products in the category, or in the whole catalog when {@code categoryId} is null or blank. */
+    public long count(String categoryId) {
+        if (catalog.isEnabled()) {
+            return catalog.snapshot().count(categoryId);
+        }
+        return readOnlyTransaction.execute(status -> categoryId == null || categoryId.isBlank()
+                ? productRepository.count()
+                : productRepository.countByCategoryId(categoryId));
     }
 
     public List<ProductResponse> findFeatured() {
-        return productRepository.findByFeaturedTrue().stream()
+        if (catalog.isEnabled()) {
+            return catalog.snapshot().featured().stream()
+                    .map(ProductResponse::from)
+                    .collect(Collectors.toList());
+        }
+        return readOnlyTransaction.execute(status -> productRepository.findByFeaturedTrue().stream()
                 .map(ProductResponse::from)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     public List<ProductResponse> findTrending() {
-        return productRepository.findByTrendingTrue().stream()
+        if (catalog.isEnabled()) {
+            return catalog.snapshot().trending().stream()
+                    .map(ProductResponse::from)
+                    .collect(Collectors.toList());
+        }
+        return readOnlyTransaction.execute(status -> productRepository.findByTrendingTrue().stream()
                 .map(ProductResponse::from)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Full-text search ranked by BM25 from the snapshot's inverted index; without the snapshot, a substring
+     * match on the name ordered by review count. Only the first {@link #MAX_SEARCH_RESULTS} matches are paged.
+     */
+    public ProductSearchResponse search(String query, int page, int size) {
+        String q = query != null ? query.trim() : "";
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        long start = (long) Math.max(0, page) * limit;
+        if (q.isEmpty() || start >= MAX_SEARCH_RESULTS) {
+            return ProductSearchResponse.builder().query(q).total(0).items(List.of()).build();
+        }
+        int offset = (int) start;
+        if (catalog.isEnabled()) {
+            CatalogSnapshot.SearchResult result = catalog.snapshot().search(q, offset, limit);
+            return ProductSearchResponse.builder()
+                    .query(q)
+                    .total(result.total())
+                    .items(result.products().stream().map(ProductSummaryResponse::from).collect(Collectors.toList()))
+                    .build();
+        }
+        String pattern = "%" + q.toLowerCase().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        Page<ProductSummaryResponse> result = readOnlyTransaction.execute(status ->
+                productRepository.searchSummariesByName(pattern, PageRequest.of(offset / limit, limit)));
+        return ProductSearchResponse.builder()
+                .query(q)
+                .total(result.getTotalElements())
+                .items(result.getContent())
+                .build();
+    }
+
+    /**
+     * Faceted filtering from the snapshot's bitmap indexes: products matching every selected attribute (any of
+     * its selected values), in id order or in {@code sort} order, plus the value counts of each attribute under
+     * the other filters.
+     * @param selected attribute name to selected values; names that are not facet attributes are ignored
+     * @throws IllegalArgumentException for an unknown sort
+     * @throws IllegalStateException when the catalog snapshot is disabled
+     */
+    public ProductFilterResponse filter(Map<String, ? extends Collection<String>> selected, String sort,
+                                        int page, int size) {
+        if (!catalog.isEnabled()) {
+            throw new IllegalStateException("Product filtering is unavailable while the catalog snapshot is disabled");
+        }
+        CatalogSnapshot.SortOrder order = CatalogSnapshot.SortOrder.fromParam(sort);
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        long offset = Math.min((long) Math.max(0, page) * limit, Integer.MAX_VALUE);
+        CatalogSnapshot.FilterResult result = catalog.snapshot().filter(selected, order, (int) offset, limit);
+        Map<String, List<FacetValueResponse>> facets = new LinkedHashMap<>();
+        result.facets().forEach((attribute, counts) -> facets.put(attribute, counts.stream()
+                .map(c -> FacetValueResponse.builder().value(c.value()).count(c.count()).build())
+                .collect(Collectors.toList())));
+        return ProductFilterResponse.builder()
+                .total(result.total())
+                .items(result.products().stream().map(ProductSummaryResponse::from).collect(Collectors.toList()))
+                .facets(facets)
+                .build();
+    }
+
+    /**
+     * Typeahead suggestions (products, flavours and categories) for a partially typed query, tolerating small
+     * typos. Served from the catalog's suggest index without touching the database.
+     * @throws IllegalStateException when the catalog snapshot is disabled
+     */
+    public List<SuggestionResponse> suggest(String query, int limit) {
+        if (!catalog.isEnabled()) {
+            throw new IllegalStateException("Suggestions are unavailable while the catalog snapshot is disabled");
+        }
+        return catalog.suggest(query, Math.max(1, Math.min(limit, MAX_SUGGESTIONS))).stream()
+                .map(s -> SuggestionResponse.builder().text(s.text()).type(s.type()).slug(s.slug()).build())
                 .collect(Collectors.toList());
     }
 
+    public List<ProductSummaryResponse> findFeaturedSummaries() {
+        if (catalog.isEnabled()) {
+            return catalog.snapshot().featured().stream()
+                    .map(ProductSummaryResponse::from)
+                    .collect(Collectors.toList());
+        }
+        return readOnlyTransaction.execute(status -> productRepository.findFeaturedSummaries());
+    }
+
+    public List<ProductSummaryResponse> findTrendingSummaries() {
+        if (catalog.isEnabled()) {
+            return catalog.snapshot().trending().stream()
+                    .map(ProductSummaryResponse::from)
+                    .collect(Collectors.toList());
+        }
+        return readOnlyTransaction.execute(status -> productRepository.findTrendingSummaries());
+    }
+
+    /**
+     * Multi-get by id for carts, order history and recently viewed lists: the products in request order, with
+     * unknown ids and repeats left out. Served from the snapshot, or with a single {@code IN} query.
+     * @throws IllegalArgumentException when more than {@link #MAX_BATCH_SIZE} ids are requested
+     */
+    public List<ProductResponse> findByIds(List<Long> ids) {
+        return batch(ids, CatalogSnapshot::byId, ProductResponse::from, r -> Long.valueOf(r.getId()),
+                keys -> productRepository.findAllById(keys).stream()
+                        .map(ProductResponse::from)
+                        .collect(Collectors.toList()));
+    }
+
+    /** {@link #findByIds} by slug. */
+    public List<ProductResponse> findBySlugs(List<String> slugs) {
+        return batch(slugs, CatalogSnapshot::bySlug, ProductResponse::from, ProductResponse::getSlug,
+                keys -> productRepository.findBySlugIn(keys).stream()
+                        .map(ProductResponse::from)
+                        .collect(Collectors.toList()));
+    }
+
+    /** {@link #findByIds} with card fields only. */
+    public List<ProductSummaryResponse> findSummariesByIds(List<Long> ids) {
+        return batch(ids, CatalogSnapshot::byId, ProductSummaryResponse::from, r -> Long.valueOf(r.getId()),
+                productRepository::findSummariesByIdIn);
+    }
+
+    /** {@link #findBySlugs} with card fields only. */
+    public List<ProductSummaryResponse> findSummariesBySlugs(List<String> slugs) {
+        return batch(slugs, CatalogSnapshot::bySlug, ProductSummaryResponse::from, ProductSummaryResponse::getSlug,
+                productRepository::findSummariesBySlugIn);
+    }
+
     public ProductResponse findBySlug(String slug) {
-        return productRepository.findBySlug(slug)
+        if (catalog.isEnabled()) {
+            return ProductResponse.from(catalog.snapshot().bySlug(slug));
+        }
+        return readOnlyTransaction.execute(status -> productRepository.findBySlug(slug)
                 .map(ProductResponse::from)
-                .orElse(null);
+                .orElse(null));
     }
 
     @Transactional
@@ -59,6 +303,7 @@ public class ProductService {
                 .orElseThrow(() -> new IllegalArgumentException("Category not found: " + request.getCategoryId()));
         Product product = toEntity(request, category, null);
         product = productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.of(product.getId()));
         return ProductResponse.from(product);
     }
 
@@ -73,6 +318,7 @@ public class ProductService {
         }
         applyRequestToProduct(request, category, product);
         product = productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.of(id));
         return ProductResponse.from(product);
     }
 
@@ -82,6 +328,7 @@ public class ProductService {
             throw new IllegalArgumentException("Product not found: " + id);
         }
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangedEvent.of(id));
     }
 
     /**
@@ -99,7 +346,7 @@ public class ProductService {
         product.setReviewCount(r.getReviewCount() != null ? r.getReviewCount() : 0);
         product.setNetQty(r.getNetQty());
         product.setImage(r.getImage());
-        product.setImages(buildImagesList(r));
+        updateImagesInPlace(product.getImages(), buildImagesList(r));
         product.setFallbackImage(r.getFallbackImage());
         product.setDescription(r.getDescription());
         product.setFeatured(Boolean.TRUE.equals(r.getFeatured()));
@@ -130,6 +377,134 @@ public class ProductService {
                 .build();
     }
 
+    private <T> CursorPageResponse<T> cursorPage(String categoryId, String sort, String cursor, int size,
+                                                 Function<CatalogProduct, T> fromSnapshot, Function<T, String> idOf,
+                                                 KeysetQuery<T> fromDatabase) {
+        CatalogSnapshot.SortOrder order = sortOrder(sort);
+        Cursor after = decodeCursor(cursor, order);
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        List<T> items;
+        String nextCursor = null;
+        if (catalog.isEnabled()) {
+            CatalogSnapshot snapshot = catalog.snapshot();
+            List<CatalogProduct> products;
+            if (after == null) {
+                products = snapshot.page(categoryId, order, 0, limit + 1);
+            } else if (order == null) {
+                products = snapshot.pageAfter(categoryId, after.id(), limit + 1);
+            } else {
+                products = snapshot.pageAfter(categoryId, order, after.key(), after.id(), limit + 1);
+            }
+            if (products.size() > limit) {
+                products = products.subList(0, limit);
+                nextCursor = encodeCursor(order, products.get(limit - 1));
+            }
+            items = products.stream().map(fromSnapshot).collect(Collectors.toList());
+        } else {
+            String category = categoryId == null || categoryId.isBlank() ? null : categoryId;
+            long afterId = after != null ? after.id() : 0L;
+            items = readOnlyTransaction.execute(status ->
+                    fromDatabase.find(category, afterId, PageRequest.of(0, limit + 1)));
+            if (items.size() > limit) {
+                items = new ArrayList<>(items.subList(0, limit));
+                nextCursor = encodeCursor(Long.parseLong(idOf.apply(items.get(limit - 1))));
+            }
+        }
+        return CursorPageResponse.<T>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private <K, T> List<T> batch(List<K> keys, BiFunction<CatalogSnapshot, K, CatalogProduct> fromSnapshot,
+                                 Function<CatalogProduct, T> toResponse, Function<T, K> keyOf,
+                                 Function<List<K>, List<T>> fromDatabase) {
+        if (keys == null || keys.isEmpty()) {
+            return List.of();
+        }
+        if (keys.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " products can be requested at once");
+        }
+        List<K> distinct = keys.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (catalog.isEnabled()) {
+            CatalogSnapshot snapshot = catalog.snapshot();
+            List<T> items = new ArrayList<>(distinct.size());
+            for (K key : distinct) {
+                CatalogProduct p = fromSnapshot.apply(snapshot, key);
+                if (p != null) {
+                    items.add(toResponse.apply(p));
+                }
+            }
+            return items;
+        }
+        Map<K, T> byKey = readOnlyTransaction.execute(status -> fromDatabase.apply(distinct).stream()
+                .collect(Collectors.toMap(keyOf, Function.identity(), (a, b) -> a)));
+        return distinct.stream()
+                .map(byKey::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /** Sorting is served from the snapshot only: the sort columns are not indexed in the database. */
+    private CatalogSnapshot.SortOrder sortOrder(String sort) {
+        CatalogSnapshot.SortOrder order = CatalogSnapshot.SortOrder.fromParam(sort);
+        if (order != null && !catalog.isEnabled()) {
+            throw new IllegalStateException("Sorting is unavailable while the catalog snapshot is disabled");
+        }
+        return order;
+    }
+
+    /** Database page of up to {@code limit} rows with an id above {@code afterId}, in id order. */
+    @FunctionalInterface
+    private interface KeysetQuery<T> {
+        List<T> find(String categoryId, long afterId, Pageable limit);
+    }
+
+    /** Position of the last product of a keyset page: its sort key ({@code sort} null means id order) and id. */
+    private record Cursor(CatalogSnapshot.SortOrder sort, int key, long id) {}
+
+    private static String encodeCursor(long lastId) {
+        return encode(CURSOR_PREFIX + lastId);
+    }
+
+    private static String encodeCursor(CatalogSnapshot.SortOrder sort, CatalogProduct last) {
+        if (sort == null) {
+            return encodeCursor(last.id());
+        }
+        return encode(sort.name().toLowerCase(Locale.ROOT) + ":" + CatalogSnapshot.sortKey(sort, last) + ":" + last.id());
+    }
+
+    private static String encode(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Null for the first page. A cursor is only valid with the sort it was issued for. */
+    private static Cursor decodeCursor(String cursor, CatalogSnapshot.SortOrder sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        Cursor decoded = null;
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = text.split(":", -1);
+            if (text.startsWith(CURSOR_PREFIX) && parts.length == 2) {
+                decoded = new Cursor(null, 0, Long.parseLong(parts[1]));
+            } else if (parts.length == 3 && !parts[0].isBlank()) {
+                decoded = new Cursor(CatalogSnapshot.SortOrder.fromParam(parts[0]),
+                        Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+            }
+        } catch (IllegalArgumentException e) {
+            // bad Base64, NumberFormatException and unknown sorts are all IllegalArgumentExceptions: a malformed cursor
+        }
+        if (decoded == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (decoded.sort() != sort) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        return decoded;
+    }
+
     private static String nullSafe(String value, String fallback) {
         return value != null ? value : fallback;
     }
@@ -142,6 +517,24 @@ public class ProductService {
         return images;
     }
 
+    /**
+     * Brings the managed, indexed images list to {@code target} by position: changed entries become row
+     * updates, extra ones inserts and missing ones deletes of the tail, so an unchanged list writes nothing.
+     */
+    private static void updateImagesInPlace(List<String> images, List<String> target) {
+        int common = Math.min(images.size(), target.size());
+        for (int i = 0; i < common; i++) {
+            if (!Objects.equals(images.get(i), target.get(i))) {
+                images.set(i, target.get(i));
+            }
+        }
+        if (images.size() > target.size()) {
+            images.subList(target.size(), images.size()).clear();
+        } else {
+            images.addAll(target.subList(common, target.size()));
+        }
+    }
+
     private ProductHighlights buildHighlights(ProductRequest r) {
         if (r.getHighlights() == null) {
             return new ProductHighlights();
@@ -0,0 +1,125 @@
+package com.soil2spoon.service;
+
+import com.soil2spoon.domain.RefreshToken;
+import com.soil2spoon.repository.RefreshTokenRepository;
+import com.soil2spoon.repository.UserRepository;
+import com.soil2spoon.security.TokenDigests;
+import com.soil2spoon.support.BoundedTtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens. Renewing a session is a hash lookup plus one conditional update
+ * instead of a BCrypt password check. Recently issued tokens are kept in an in-memory front cache
+ * (keyed by token hash) so a rotation normally skips the SELECT; the conditional
+ * {@link RefreshTokenRepository#markUsed} update in the database stays the source of truth.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final long refreshExpirationMs;
+    private final BoundedTtlCache<String, IssuedToken> issuedTokens;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            UserRepository userRepository,
+            @Value("${app.jwt.refresh-expiration-ms}") long refreshExpirationMs,
+            @Value("${app.jwt.refresh-cache.max-entries:10000}") int cacheMaxEntries) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.refreshExpirationMs = refreshExpirationMs;
+        this.issuedTokens = new BoundedTtlCache<>(cacheMaxEntries, refreshExpirationMs);
+    }
+
+    /** Starts a new token family (a new login) for the user and returns the raw refresh token. */
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family.
+     * Presenting a token that was already exchanged (or revoked) revokes the whole family, since it means
+     * the token was copied; the client then has to sign in again.
+     * @throws IllegalArgumentException if the token is unknown, expired, revoked or reused
+     */
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public Rotation rotate(String rawToken) {
+        String hash = TokenDigests.sha256Hex(rawToken);
+        IssuedToken current = issuedTokens.get(hash);
+        if (current == null) {
+            current = refreshTokenRepository.findByTokenHash(hash)
+                    .map(IssuedToken::from)
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+        }
+        Instant now = Instant.now();
+        if (current.expiresAtMillis() <= now.toEpochMilli()) {
+            issuedTokens.invalidate(hash);
+            throw new IllegalArgumentException("Refresh token expired");
+        }
+        if (refreshTokenRepository.markUsed(current.id(), now) == 0) {
+            issuedTokens.invalidate(hash);
+            refreshTokenRepository.revokeFamily(current.familyId(), now);
+            log.warn("Refresh token reuse detected for user {}; revoked token family {}", current.userId(), current.familyId());
+            throw new IllegalArgumentException("Refresh token is no longer valid. Please sign in again.");
+        }
+        issuedTokens.invalidate(hash);
+        return new Rotation(current.userId(), issue(current.userId(), current.familyId()));
+    }
+
+    /** Revokes the family of the given token (logout). Unknown tokens are ignored. */
+    @Transactional
+    public void revoke(String rawToken) {
+        String hash = TokenDigests.sha256Hex(rawToken);
+        issuedTokens.invalidate(hash);
+        refreshTokenRepository.findByTokenHash(hash)
+                .ifPresent(t -> refreshTokenRepository.revokeFamily(t.getFamilyId(), Instant.now()));
+    }
+
+    /** Revokes every refresh token of the user (e.g. after a password reset). */
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, Instant.now());
+    }
+
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        String hash = TokenDigests.sha256Hex(rawToken);
+        Instant now = Instant.now();
+        RefreshToken token = refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash)
+                .user(userRepository.getReferenceById(userId))
+                .familyId(familyId)
+                .createdAt(now)
+                .expiresAt(now.plusMillis(refreshExpirationMs))
+                .build());
+        IssuedToken issued = IssuedToken.from(token);
+        issuedTokens.put(hash, issued, issued.expiresAtMillis());
+        return rawToken;
+    }
+
+    /** Result of a successful rotation: the owner and the replacement refresh token. */
+    public record Rotation(Long userId, String refreshToken) {}
+
+    private record IssuedToken(Long id, Long userId, String familyId, long expiresAtMillis) {
+
+        static IssuedToken from(RefreshToken t) {
+            return new IssuedToken(t.getId(), t.getUser().getId(), t.getFamilyId(), t.getExpiresAt().toEpochMilli());
+        }
+    }
+}
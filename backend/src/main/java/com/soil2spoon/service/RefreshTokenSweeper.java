@@ -0,0 +1,38 @@
+package com.soil2spoon.service;
+
+import com.soil2spoon.repository.RefreshTokenRepository;
+import com.soil2spoon.support.ChunkedDeleter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Periodically deletes expired refresh tokens. Every rotation leaves the used token behind for reuse
+ * detection, but once expired it would be rejected anyway, so it can go.
+ */
+@Component
+public class RefreshTokenSweeper {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ChunkedDeleter chunkedDeleter;
+    private final int batchSize;
+
+    public RefreshTokenSweeper(
+            RefreshTokenRepository refreshTokenRepository,
+            ChunkedDeleter chunkedDeleter,
+            @Value("${app.jwt.refresh-token.sweep-batch-size:500}") int batchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.chunkedDeleter = chunkedDeleter;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-token.sweep-interval-ms:600000}",
+            initialDelayString = "${app.jwt.refresh-token.sweep-interval-ms:600000}")
+    public void sweepExpired() {
+        Instant now = Instant.now();
+        chunkedDeleter.deleteAll("expired refresh tokens", batchSize,
+                page -> refreshTokenRepository.findExpiredIds(now, page), refreshTokenRepository::deleteByIdIn);
+    }
+}
@@ -1,5 +1,6 @@
 package com.soil2spoon.service;
 
+import com.soil2spoon.catalog.CatalogChangedEvent;
 import com.soil2spoon.domain.Product;
 import com.soil2spoon.domain.Review;
 import com.soil2spoon.domain.User;
@@ -9,6 +10,7 @@ import com.soil2spoon.repository.ProductRepository;
 import com.soil2spoon.repository.ReviewRepository;
 import com.soil2spoon.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,26 +26,27 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<ReviewResponse> findByProductId(Long productId) {
         return findByProductId(productId, null);
     }
 
-    public List<ReviewResponse> findByProductId(Long productId, String currentUserEmail) {
+    public List<ReviewResponse> findByProductId(Long productId, Long currentUserId) {
         return reviewRepository.findByProductIdOrderByReviewDateDesc(productId).stream()
-                .map(r -> ReviewResponse.from(r, currentUserEmail))
+                .map(r -> ReviewResponse.from(r, currentUserId))
                 .collect(Collectors.toList());
     }
 
     @Transactional
-    public ReviewResponse create(Long productId, ReviewRequest request, String userEmail) {
+    public ReviewResponse create(Long productId, ReviewRequest request, Long userId, String userEmail) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found: " + productId));
-        String authorName = userRepository.findByEmail(userEmail)
-                .map(u -> u.getName() != null && !u.getName().isBlank() ? u.getName() : userEmail)
-                .orElse(userEmail != null ? userEmail : "Customer");
+        User currentUser = userRepository.findById(userId).orElse(null);
+        String authorName = currentUser != null && currentUser.getName() != null && !currentUser.getName().isBlank()
+                ? currentUser.getName()
+                : (userEmail != null ? userEmail : "Customer");
         int newRatingValue = request.getRating() != null ? request.getRating() : 5;
-        User currentUser = userRepository.findByEmail(userEmail).orElse(null);
         Review review = Review.builder()
                 .product(product)
                 .author(authorName)
@@ -64,16 +67,16 @@ public class ReviewService {
         product.setReviewCount(newCount);
         product.setRating(Math.round(newAverageRating * 10.0) / 10.0); // round to 1 decimal
         productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.of(product.getId()));
 
-        return ReviewResponse.from(review, userEmail);
+        return ReviewResponse.from(review, userId);
     }
 
     @Transactional
-    public ReviewResponse update(Long productId, Long reviewId, ReviewRequest request, String userEmail) {
+    public ReviewResponse update(Long productId, Long reviewId, ReviewRequest request, Long userId) {
         Review review = reviewRepository.findByIdAndProduct_Id(reviewId, productId)
                 .orElseThrow(() -> new IllegalArgumentException("Review not found"));
-        User currentUser = userRepository.findByEmail(userEmail).orElseThrow(() -> new IllegalArgumentException("User not found"));
-        if (review.getUser() == null || !review.getUser().getId().equals(currentUser.getId())) {
+        if (review.getUser() == null || !review.getUser().getId().equals(userId)) {
             throw new IllegalArgumentException("You can only edit your own review");
         }
         int newRating = request.getRating() != null ? request.getRating() : review.getRating();
@@ -88,8 +91,9 @@ public class ReviewService {
         product.setReviewCount(count);
         product.setRating(Math.round(avg * 10.0) / 10.0);
         productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.of(product.getId()));
 
-        return ReviewResponse.from(review, userEmail);
+        return ReviewResponse.from(review, userId);
     }
 
     @Transactional
@@ -104,9 +108,7 @@ public class ReviewService {
                 : remaining.stream().mapToInt(Review::getRating).average().orElse(0.0);
         product.setReviewCount(count);
         product.setRating(Math.round(avg * 10.0) / 10.0);
-        if (product.getImages() != null) {
-            product.setImages(new java.util.ArrayList<>(product.getImages()));
-        }
         productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.of(product.getId()));
     }
 }
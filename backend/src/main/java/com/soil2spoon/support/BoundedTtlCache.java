@@ -0,0 +1,149 @@
+package com.soil2spoon.support;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded, lock-striped cache with per-entry expiry.
+ * Keys are spread over independent segments, each an access-ordered map guarded by its own lock,
+ * so concurrent readers of different keys rarely contend. Each segment evicts its least recently
+ * used entry once full; expired entries are dropped when they are next read.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private static final int DEFAULT_STRIPES = 16;
+
+    private final Segment<K, V>[] segments;
+    private final long defaultTtlMillis;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public BoundedTtlCache(int maxEntries, long defaultTtlMillis) {
+        this(maxEntries, defaultTtlMillis, DEFAULT_STRIPES);
+    }
+
+    @SuppressWarnings("unchecked")
+    public BoundedTtlCache(int maxEntries, long defaultTtlMillis, int stripes) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        int count = Integer.highestOneBit(Math.max(1, Math.min(stripes, maxEntries)));
+        int perSegment = Math.max(1, (maxEntries + count - 1) / count);
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+        this.defaultTtlMillis = defaultTtlMillis;
+    }
+
+    /** Returns the cached value, or null when absent or expired. */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = System.currentTimeMillis();
+        synchronized (segment) {
+            Node<V> node = segment.get(key);
+            if (node != null && node.expiresAtMillis() > now) {
+                hits.increment();
+                return node.value();
+            }
+            if (node != null) {
+                segment.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, System.currentTimeMillis() + defaultTtlMillis);
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, new Node<>(value, expiresAtMillis));
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /** Returns a point-in-time copy of all live entries (e.g. for persisting the cache). */
+    public List<Entry<K, V>> entries() {
+        long now = System.currentTimeMillis();
+        List<Entry<K, V>> result = new ArrayList<>();
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                for (Map.Entry<K, Node<V>> e : segment.entrySet()) {
+                    if (e.getValue().expiresAtMillis() > now) {
+                        result.add(new Entry<>(e.getKey(), e.getValue().value(), e.getValue().expiresAtMillis()));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+
+    public record Entry<K, V>(K key, V value, long expiresAtMillis) {}
+
+    private record Node<V>(V value, long expiresAtMillis) {}
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, Node<V>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Node<V>> eldest) {
+            return size() > capacity;
+        }
+    }
+}
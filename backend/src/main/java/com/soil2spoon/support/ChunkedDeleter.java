@@ -0,0 +1,50 @@
+package com.soil2spoon.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes rows in chunks of ids, each chunk in its own short transaction, until a chunk comes back short.
+ * Used by the scheduled sweepers, so a large backlog never holds long locks on the table being cleaned.
+ */
+@Component
+@Slf4j
+public class ChunkedDeleter {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ChunkedDeleter(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Repeatedly selects up to {@code batchSize} ids with {@code findIds} and deletes them with
+     * {@code deleteByIdIn}. Logs the total under {@code label} (e.g. "expired refresh tokens") and returns it.
+     */
+    public int deleteAll(String label, int batchSize, Function<Pageable, List<Long>> findIds,
+                         ToIntFunction<List<Long>> deleteByIdIn) {
+        Pageable firstChunk = PageRequest.of(0, batchSize);
+        int total = 0;
+        int deleted;
+        do {
+            Integer chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = findIds.apply(firstChunk);
+                return ids.isEmpty() ? 0 : deleteByIdIn.applyAsInt(ids);
+            });
+            deleted = chunk != null ? chunk : 0;
+            total += deleted;
+        } while (deleted == batchSize);
+        if (total > 0) {
+            log.info("Deleted {} {}", total, label);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,86 @@
+package com.soil2spoon.support;
+
+/**
+ * Minimal count-based circuit breaker for calls to a remote dependency.
+ * After {@code failureThreshold} consecutive failures the circuit opens and calls are refused for
+ * {@code openMillis}; then a single trial call is let through (half-open). Its success closes the
+ * circuit, its failure opens it again. Callers must report every permitted call with
+ * {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMillis;
+    private boolean trialInFlight;
+    private long opened;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        if (failureThreshold < 1 || openMillis < 1) {
+            throw new IllegalArgumentException("failureThreshold and openMillis must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /** Returns true if the call may proceed. */
+    public synchronized boolean tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAtMillis < openMillis) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                opened++;
+            }
+            state = State.OPEN;
+            openedAtMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Releases the permission without counting the call either way, for outcomes that say nothing about the
+     * dependency's health (e.g. it rejected our credentials). A half-open circuit stays half-open.
+     */
+    public synchronized void onIgnored() {
+        trialInFlight = false;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /** Number of times the circuit has opened since startup. */
+    public synchronized long timesOpened() {
+        return opened;
+    }
+}
@@ -0,0 +1,15 @@
+package com.soil2spoon.support;
+
+import java.util.Map;
+
+/**
+ * A component that exposes runtime counters (cache hit rates, pool saturation, latencies).
+ * All beans implementing this are listed under GET /api/admin/metrics.
+ */
+public interface MetricsSource {
+
+    /** Section name in the metrics response, e.g. {@code passwordHashing}. */
+    String metricsName();
+
+    Map<String, Object> metrics();
+}
@@ -0,0 +1,14 @@
+package com.soil2spoon.support;
+
+/**
+ * Thrown when a bounded resource (worker pool, bulkhead) is saturated and the request is rejected
+ * instead of queued. Controllers map it to 429 / 503 so callers can back off and retry.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
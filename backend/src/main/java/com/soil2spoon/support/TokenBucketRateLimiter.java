@@ -0,0 +1,102 @@
+package com.soil2spoon.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-process token-bucket limiter keyed by an arbitrary string (client IP, email, ...).
+ * Buckets live in lock-striped, access-ordered maps: each stripe holds a bounded number of keys and
+ * drops its least recently used bucket once full, so memory stays bounded under key floods. A bucket
+ * that has been idle long enough to refill completely is equivalent to a new one and is dropped too.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int STRIPES = 32;
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final long idleNanos;
+    private final Stripe[] stripes;
+
+    /**
+     * @param capacity        burst size (tokens available to a new key)
+     * @param refillPerMinute tokens added back per minute
+     * @param maxKeys         upper bound on tracked keys across all stripes
+     */
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        if (capacity < 1 || refillPerMinute < 1) {
+            throw new IllegalArgumentException("capacity and refillPerMinute must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000.0;
+        this.idleNanos = (long) Math.ceil(capacity / tokensPerNano);
+        int perStripe = Math.max(1, maxKeys / STRIPES);
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe, idleNanos);
+        }
+    }
+
+    /**
+     * Takes one token for the key.
+     * @return 0 if the call is allowed, otherwise the number of seconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.put(key, bucket);
+            } else {
+                bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAtNanos) * tokensPerNano);
+                bucket.updatedAtNanos = now;
+            }
+            if (bucket.tokens >= 1.0) {
+                bucket.tokens -= 1.0;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1.0 - bucket.tokens) / tokensPerNano / 1_000_000_000.0));
+        }
+    }
+
+    public int trackedKeys() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.size();
+            }
+        }
+        return total;
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long updatedAtNanos;
+
+        Bucket(double tokens, long updatedAtNanos) {
+            this.tokens = tokens;
+            this.updatedAtNanos = updatedAtNanos;
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxKeys;
+        private final long idleNanos;
+
+        Stripe(int maxKeys, long idleNanos) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+            this.idleNanos = idleNanos;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxKeys || System.nanoTime() - eldest.getValue().updatedAtNanos > idleNanos;
+        }
+    }
+}
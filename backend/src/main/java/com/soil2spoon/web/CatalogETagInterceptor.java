@@ -0,0 +1,70 @@
+package com.soil2spoon.web;
+
+import com.soil2spoon.catalog.ProductCatalog;
+import com.soil2spoon.support.MetricsSource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conditional GET for public product routes. Every response carries a strong ETag derived from the catalog
+ * version, and a request whose {@code If-None-Match} matches the current version gets a 304 here, before the
+ * response cache, the controller or any database work. The version is read before the handler runs, so a
+ * write racing with the request can only make the ETag older than the body (one extra 200 later), never newer.
+ */
+@Component
+public class CatalogETagInterceptor implements HandlerInterceptor, MetricsSource {
+
+    private final ProductCatalog catalog;
+    private final boolean enabled;
+
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder checked = new LongAdder();
+
+    public CatalogETagInterceptor(
+            ProductCatalog catalog,
+            @Value("${app.catalog.etag.enabled:true}") boolean enabled) {
+        this.catalog = catalog;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!enabled || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        checked.increment();
+        // Allow storing but require revalidation, instead of Spring Security's default no-store
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(catalog.etag(catalog.version()))) {
+            notModified.increment();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String metricsName() {
+        return "catalogETag";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("enabled", enabled);
+        m.put("version", catalog.version());
+        m.put("conditionalRequests", checked.sum());
+        m.put("notModified", notModified.sum());
+        return m;
+    }
+}
@@ -0,0 +1,143 @@
+package com.soil2spoon.web;
+
+import com.soil2spoon.catalog.CatalogChangedEvent;
+import com.soil2spoon.support.BoundedTtlCache;
+import com.soil2spoon.support.MetricsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON bodies of public GET responses, keyed by path and query string.
+ * Each entry holds the UTF-8 bytes and, when it is smaller, a gzip copy, so a hit costs neither DTO
+ * building, Jackson nor per-request compression. Entries are tagged with the cache generation seen when
+ * the request started; any product or review write bumps the generation after commit, so responses
+ * computed from older data are never served again, even if they finish after the invalidation.
+ */
+@Component
+public class ResponseBodyCache implements MetricsSource {
+
+    private final boolean enabled;
+    private final int maxBodyBytes;
+    private final BoundedTtlCache<String, CachedBody> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder tooLarge = new LongAdder();
+    private final LongAdder gzipServed = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder bytesServed = new LongAdder();
+
+    public ResponseBodyCache(
+            @Value("${app.response-cache.enabled:true}") boolean enabled,
+            @Value("${app.response-cache.max-entries:2000}") int maxEntries,
+            @Value("${app.response-cache.ttl-ms:600000}") long ttlMs,
+            @Value("${app.response-cache.max-body-bytes:1048576}") int maxBodyBytes) {
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+        this.entries = new BoundedTtlCache<>(maxEntries, ttlMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Generation to pass to {@link #put} for a response computed from data read after this call. */
+    public long generation() {
+        return generation.get();
+    }
+
+    /** Returns the cached body for the key, or null when absent, expired or from an older generation. */
+    public CachedBody get(String key) {
+        CachedBody body = entries.get(key);
+        return body != null && body.generation() == generation.get() ? body : null;
+    }
+
+    /** Stores a serialized body; ignored when the data may already be stale or the body is too large. */
+    public void put(String key, long seenGeneration, byte[] json) {
+        if (seenGeneration != generation.get()) {
+            return;
+        }
+        if (json.length > maxBodyBytes) {
+            tooLarge.increment();
+            return;
+        }
+        byte[] gzip = gzip(json);
+        entries.put(key, new CachedBody(seenGeneration, json, gzip.length < json.length ? gzip : null));
+        stored.increment();
+    }
+
+    void recordServed(int bytes, boolean gzipped) {
+        bytesServed.add(bytes);
+        if (gzipped) {
+            gzipServed.increment();
+        }
+    }
+
+    /** Drops every entry. Must run after the new data is visible to readers (see the listener order below). */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.invalidateAll();
+        invalidations.increment();
+    }
+
+    /** Ordered after {@link com.soil2spoon.catalog.ProductCatalog}'s listener so new entries see the new snapshot. */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        invalidateAll(); // drop anything cached while startup runners (e.g. dev seeding) were still writing
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public String metricsName() {
+        return "responseCache";
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("enabled", enabled);
+        m.put("entries", entries.size());
+        m.put("generation", generation.get());
+        m.put("hits", entries.hitCount());
+        m.put("misses", entries.missCount());
+        m.put("gzipServed", gzipServed.sum());
+        m.put("bytesServed", bytesServed.sum());
+        m.put("stored", stored.sum());
+        m.put("tooLarge", tooLarge.sum());
+        m.put("invalidations", invalidations.sum());
+        return m;
+    }
+
+    /** UTF-8 JSON body and its gzip encoding (null when compression did not make it smaller). */
+    public record CachedBody(long generation, byte[] json, byte[] gzip) {}
+}
@@ -0,0 +1,62 @@
+package com.soil2spoon.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Stores the JSON of successful responses that {@link ResponseCacheInterceptor} marked as cache misses.
+ * Serializes with the same {@link ObjectMapper} the Jackson converter uses, so cached bytes are identical
+ * to what the controller response would have produced.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+@Slf4j
+public class ResponseCacheCaptureAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ObjectMapper objectMapper;
+    private final ResponseBodyCache cache;
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType, @NonNull MediaType contentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> converterType,
+                                  @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        if (body == null || !MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                || !(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)) {
+            return body;
+        }
+        HttpServletRequest req = servletRequest.getServletRequest();
+        HttpServletResponse res = servletResponse.getServletResponse();
+        if (req.getAttribute(ResponseCacheInterceptor.CAPTURE_ATTRIBUTE) instanceof ResponseCacheInterceptor.Capture capture
+                && res.getStatus() == HttpServletResponse.SC_OK) {
+            req.removeAttribute(ResponseCacheInterceptor.CAPTURE_ATTRIBUTE);
+            try {
+                cache.put(capture.key(), capture.generation(), objectMapper.writeValueAsBytes(body));
+            } catch (JsonProcessingException e) {
+                log.warn("Could not cache response for {}", capture.key(), e);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,75 @@
+package com.soil2spoon.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * Serves public GET responses from {@link ResponseBodyCache}. On a hit the stored bytes (gzip when the client
+ * accepts it) are written straight to the servlet output stream and the controller is skipped; on a miss the
+ * request is marked so {@link ResponseCacheCaptureAdvice} stores the body the controller produces.
+ * Registered only for the public catalog and content routes in {@link com.soil2spoon.config.WebConfig}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheInterceptor implements HandlerInterceptor {
+
+    static final String CAPTURE_ATTRIBUTE = ResponseCacheInterceptor.class.getName() + ".capture";
+
+    private final ResponseBodyCache cache;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) throws IOException {
+        if (!cache.isEnabled() || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String key = keyFor(request);
+        ResponseBodyCache.CachedBody body = cache.get(key);
+        if (body == null) {
+            request.setAttribute(CAPTURE_ATTRIBUTE, new Capture(key, cache.generation()));
+            return true;
+        }
+        boolean gzip = body.gzip() != null && acceptsGzip(request);
+        byte[] bytes = gzip ? body.gzip() : body.json();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+        cache.recordServed(bytes.length, gzip);
+        return false;
+    }
+
+    static String keyFor(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getServletPath() : request.getServletPath() + '?' + query;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (accept == null) {
+            return false;
+        }
+        for (String coding : accept.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /** Cache key and generation recorded on a miss, before the controller reads any data. */
+    record Capture(String key, long generation) {}
+}
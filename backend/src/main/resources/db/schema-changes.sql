@@ -0,0 +1,86 @@
+-- Postgres schema changes since the baseline schema, in the order the entities changed.
+-- Production runs with spring.jpa.hibernate.ddl-auto=validate, so apply this script before deploying
+-- a build that includes these entities. Not run automatically (Spring Boot only picks up schema.sql).
+-- Statements are idempotent where Postgres allows it, so the script can be re-run after a partial apply.
+
+-- Refresh tokens: stored hashed, rotated on every use, grouped by family for reuse detection.
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token_hash varchar(64) NOT NULL,
+    user_id bigint NOT NULL REFERENCES users (id),
+    family_id varchar(36) NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    expires_at timestamp(6) with time zone NOT NULL,
+    used_at timestamp(6) with time zone,
+    revoked_at timestamp(6) with time zone,
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash)
+);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user ON refresh_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+-- Password reset tokens move out of users into their own hashed, indexed table.
+-- Links issued before the switch stop working; users request a new one.
+CREATE TABLE IF NOT EXISTS password_reset_tokens (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token_hash varchar(64) NOT NULL,
+    user_id bigint NOT NULL REFERENCES users (id),
+    created_at timestamp(6) with time zone NOT NULL,
+    expires_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT uk_password_reset_tokens_token_hash UNIQUE (token_hash)
+);
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_expires_at ON password_reset_tokens (expires_at);
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_user ON password_reset_tokens (user_id);
+ALTER TABLE users DROP COLUMN IF EXISTS reset_token, DROP COLUMN IF EXISTS reset_token_expiry;
+
+-- Outgoing mail outbox. html_body is cleared once a row is SENT or FAILED.
+CREATE TABLE IF NOT EXISTS outbound_emails (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    to_address varchar(255) NOT NULL,
+    subject varchar(255) NOT NULL,
+    html_body varchar(10000),
+    status varchar(20) NOT NULL,
+    attempts integer NOT NULL,
+    next_attempt_at timestamp(6) with time zone NOT NULL,
+    last_error varchar(1000),
+    created_at timestamp(6) with time zone NOT NULL,
+    sent_at timestamp(6) with time zone,
+    CONSTRAINT outbound_emails_status_check CHECK (status IN ('PENDING', 'SENT', 'FAILED'))
+);
+CREATE INDEX IF NOT EXISTS idx_outbound_emails_due ON outbound_emails (status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_outbound_emails_created_at ON outbound_emails (created_at);
+
+-- Saved addresses accepted while the geocoder was unavailable, and why re-verification rejected them.
+ALTER TABLE user_addresses ADD COLUMN IF NOT EXISTS verification_pending boolean NOT NULL DEFAULT false;
+ALTER TABLE user_addresses ADD COLUMN IF NOT EXISTS verification_error varchar(500);
+
+-- Asynchronous order address verification: new statuses, retry bookkeeping and the due-order index.
+-- Schemas generated by Hibernate 6 carry a check constraint listing the enum values; widen it.
+ALTER TABLE orders DROP CONSTRAINT IF EXISTS orders_status_check;
+ALTER TABLE orders ADD CONSTRAINT orders_status_check CHECK (status IN ('PENDING', 'PENDING_VERIFICATION',
+    'VERIFICATION_FAILED', 'CONFIRMED', 'SHIPPED', 'DELIVERED', 'CANCELLED'));
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS verification_attempts integer NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS next_verification_at timestamp(6) with time zone;
+UPDATE orders SET next_verification_at = order_date
+    WHERE status = 'PENDING_VERIFICATION' AND next_verification_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_orders_verification_due ON orders (status, next_verification_at);
+
+-- At most one default address per user: default_user_id holds user_id only while the row is the default.
+ALTER TABLE user_addresses ADD COLUMN IF NOT EXISTS default_user_id bigint;
+UPDATE user_addresses SET default_user_id = user_id WHERE is_default AND default_user_id IS NULL;
+ALTER TABLE user_addresses DROP CONSTRAINT IF EXISTS uk_user_addresses_default_user_id;
+ALTER TABLE user_addresses ADD CONSTRAINT uk_user_addresses_default_user_id UNIQUE (default_user_id);
+CREATE INDEX IF NOT EXISTS idx_user_addresses_user ON user_addresses (user_id);
+
+-- Keyset pagination of product listings by category.
+CREATE INDEX IF NOT EXISTS idx_products_category_id ON products (category_id, id);
+
+-- Product images become an indexed list so in-place edits touch only the changed rows.
+-- Existing rows are numbered in their current physical order within each product.
+ALTER TABLE product_images ADD COLUMN IF NOT EXISTS image_index integer;
+UPDATE product_images i SET image_index = r.n
+    FROM (SELECT ctid, row_number() OVER (PARTITION BY product_id ORDER BY ctid) - 1 AS n FROM product_images) r
+    WHERE i.ctid = r.ctid AND i.image_index IS NULL;
+ALTER TABLE product_images ALTER COLUMN image_index SET NOT NULL;
+ALTER TABLE product_images DROP CONSTRAINT IF EXISTS product_images_pkey;
+ALTER TABLE product_images ADD PRIMARY KEY (product_id, image_index);
@@ -0,0 +1,46 @@
+package com.soil2spoon.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetIndexTest {
+
+    private static final List<Map<String, List<String>>> SELECTIONS = List.of(
+            Map.of(),
+            Map.of(FacetIndex.DIETARY_PREFERENCE, List.of("veg")),
+            Map.of(FacetIndex.CATEGORY, List.of("pastes", "spices"), FacetIndex.RATING, List.of("3+")),
+            Map.of(FacetIndex.FLAVOUR, List.of("Chilli"), FacetIndex.PRICE_BAND, List.of("500-999", "1000+")),
+            Map.of(FacetIndex.PACKAGING_TYPE, List.of("Jar"), FacetIndex.DIETARY_PREFERENCE, List.of("Vegan", "Non-Veg")));
+
+    @Test
+    void incrementalUpdatesMatchFullBuild() {
+        Random random = new Random(11);
+        CatalogProduct[] products = new CatalogProduct[3000];
+        AtomicLong ids = new AtomicLong();
+        for (int slot = 0; slot < products.length; slot++) {
+            products[slot] = TestProducts.random(random, ids.incrementAndGet());
+        }
+        FacetIndex index = FacetIndex.build(products);
+
+        for (int round = 0; round < 40; round++) {
+            TestProducts.Mutation mutation = TestProducts.mutate(random, products, 40, ids::incrementAndGet);
+
+            index = index.withChanges(products, mutation.after(), mutation.changed());
+            products = mutation.after();
+            FacetIndex full = FacetIndex.build(products);
+            assertThat(index.valueCount()).isEqualTo(full.valueCount());
+            for (Map<String, List<String>> selected : SELECTIONS) {
+                FacetIndex.Result expected = full.filter(selected);
+                FacetIndex.Result actual = index.filter(selected);
+                assertThat(actual.matches().toArray()).as("%s", selected).containsExactly(expected.matches().toArray());
+                assertThat(actual.facets()).as("%s", selected).isEqualTo(expected.facets());
+            }
+        }
+    }
+}
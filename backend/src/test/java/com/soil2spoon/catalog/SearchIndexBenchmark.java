@@ -0,0 +1,113 @@
+package com.soil2spoon.catalog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency percentiles over a synthetic catalog of {@link TestProducts} (100k products by default) for
+ * one to three term queries, and the cost of one incremental snapshot update.
+ * <p>
+ * {@code vocabulary=narrow} keeps the 20 test words, so every term is in more than a tenth of the catalog: the
+ * worst case, where no query has a selective term. {@code wide} rewrites names and descriptions with a skewed
+ * draw from 5000 words, closer to a real catalog: a few terms are common, most are rare.
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=SearchIndexBenchmark}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    private static final int WIDE_VOCABULARY = 5000;
+
+    @Param("100000")
+    public int products;
+
+    @Param({"narrow", "wide"})
+    public String vocabulary;
+
+    private CatalogSnapshot snapshot;
+    private SearchIndex index;
+    private String[] queries;
+    private int nextQuery;
+    private List<CatalogProduct> upserts;
+    private long nextVersion;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        List<CatalogProduct> catalog = new ArrayList<>(products);
+        boolean wide = "wide".equals(vocabulary);
+        for (long id = 1; id <= products; id++) {
+            CatalogProduct p = TestProducts.random(random, id);
+            catalog.add(wide ? withWords(p, random) : p);
+        }
+        snapshot = CatalogSnapshot.build(1, 1, catalog);
+        index = snapshot.searchIndex();
+        queries = new String[256];
+        for (int i = 0; i < queries.length; i++) {
+            StringBuilder query = new StringBuilder();
+            for (int terms = 1 + random.nextInt(3); terms > 0; terms--) {
+                query.append(wide ? wideWord(random) : TestProducts.WORDS[random.nextInt(TestProducts.WORDS.length)])
+                        .append(' ');
+            }
+            queries[i] = query.toString().trim();
+        }
+        upserts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            CatalogProduct p = TestProducts.random(random, 1 + random.nextInt(products));
+            upserts.add(wide ? withWords(p, random) : p);
+        }
+        nextVersion = 2;
+    }
+
+    @Benchmark
+    public int[] searchTop20() {
+        String query = queries[nextQuery];
+        nextQuery = (nextQuery + 1) % queries.length;
+        return index.search(query, 20).slots();
+    }
+
+    /** Ten product updates applied to the full snapshot: search, facet and sort indexes. */
+    @Benchmark
+    public CatalogSnapshot incrementalUpdate() {
+        return snapshot.withChanges(nextVersion++, upserts, List.of());
+    }
+
+    private static CatalogProduct withWords(CatalogProduct p, Random random) {
+        return new CatalogProduct(p.id(), wideText(random, 1 + random.nextInt(4)), p.slug(), p.price(),
+                p.originalPrice(), p.categoryId(), p.rating(), p.reviewCount(), p.netQty(), p.image(), p.images(),
+                p.fallbackImage(), wideText(random, random.nextInt(12)), p.featured(), p.trending(), p.highlights(),
+                p.information());
+    }
+
+    private static String wideText(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(wideWord(random)).append(' ');
+        }
+        return text.toString().trim();
+    }
+
+    /** Skewed towards low numbers, so "w0" ... "w20" are common and the long tail is rare. */
+    private static String wideWord(Random random) {
+        double u = random.nextDouble();
+        return "w" + (int) (u * u * u * WIDE_VOCABULARY);
+    }
+}
@@ -0,0 +1,106 @@
+package com.soil2spoon.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTest {
+
+    private static final int FILLERS = 30;
+
+    @Test
+    void incrementalUpdatesMatchFullBuild() {
+        Random random = new Random(42);
+        CatalogProduct[] products = new CatalogProduct[2000];
+        AtomicLong ids = new AtomicLong();
+        for (int slot = 0; slot < products.length; slot++) {
+            products[slot] = TestProducts.random(random, ids.incrementAndGet());
+        }
+        SearchIndex index = SearchIndex.build(products);
+
+        for (int round = 0; round < 25; round++) {
+            TestProducts.Mutation mutation = TestProducts.mutate(random, products, 30, ids::incrementAndGet);
+
+            index = index.withChanges(products, mutation.after(), mutation.changed());
+            products = mutation.after();
+            assertSameIndex(index, SearchIndex.build(products), products.length);
+        }
+    }
+
+    @Test
+    void nameMatchOutranksDescriptionMatch() {
+        SearchIndex index = SearchIndex.build(withFillers(
+                product(1, "Mango Pickle", "sweet and sour"),
+                product(2, "Lime Pickle", "tangy with mango")));
+
+        SearchIndex.SearchResult result = index.search("mango", 10);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.slots()).containsExactly(0, 1);
+    }
+
+    @Test
+    void rarerTermOutranksMoreFrequentOne() {
+        SearchIndex index = SearchIndex.build(withFillers(
+                product(1, "Ginger Chutney", null),
+                product(2, "Ginger Relish", null),
+                product(3, "Turmeric Chutney", null)));
+
+        SearchIndex.SearchResult result = index.search("ginger turmeric", 10);
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.slots()[0]).isEqualTo(2);
+    }
+
+    @Test
+    void commonTermOnlyRaisesProductsMatchedBySelectiveTerms() {
+        // "paste" is in every filler, far above the common-term ratio; "mango" is in two products
+        SearchIndex index = SearchIndex.build(withFillers(
+                product(1, "Mango Pickle", null),
+                product(2, "Mango Paste", null),
+                product(3, "Tomato Paste", null)));
+
+        SearchIndex.SearchResult both = index.search("mango paste", 10);
+        assertThat(both.total()).isEqualTo(2);
+        assertThat(both.slots()).containsExactly(1, 0);
+
+        SearchIndex.SearchResult commonOnly = index.search("paste", 100);
+        assertThat(commonOnly.total()).isEqualTo(FILLERS + 2);
+    }
+
+    /** The given products in slots 0, 1, ... followed by filler pastes that share none of the test terms. */
+    private static CatalogProduct[] withFillers(CatalogProduct... products) {
+        CatalogProduct[] all = Arrays.copyOf(products, products.length + FILLERS);
+        for (int i = 0; i < FILLERS; i++) {
+            all[products.length + i] = product(100 + i, "Coriander Paste", "ground coriander seeds");
+        }
+        return all;
+    }
+
+    private static CatalogProduct product(long id, String name, String description) {
+        return new CatalogProduct(id, name, "p" + id, 100, null, null, 4.0, 0, null, null, List.of(), null,
+                description, false, false, null, null);
+    }
+
+    private static void assertSameIndex(SearchIndex incremental, SearchIndex full, int slots) {
+        assertThat(incremental.termCount()).isEqualTo(full.termCount());
+        assertThat(incremental.postingCount()).isEqualTo(full.postingCount());
+        for (String word : TestProducts.WORDS) {
+            assertSameResult(incremental, full, word, slots);
+            assertSameResult(incremental, full, word + " paste", slots);
+            assertSameResult(incremental, full, word + " ginger garlic", slots);
+        }
+    }
+
+    private static void assertSameResult(SearchIndex incremental, SearchIndex full, String query, int slots) {
+        SearchIndex.SearchResult expected = full.search(query, slots);
+        SearchIndex.SearchResult actual = incremental.search(query, slots);
+        assertThat(actual.total()).as(query).isEqualTo(expected.total());
+        assertThat(actual.slots()).as(query).containsExactly(expected.slots());
+    }
+}
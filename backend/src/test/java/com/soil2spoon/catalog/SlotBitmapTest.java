@@ -0,0 +1,131 @@
+package com.soil2spoon.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Checks {@link SlotBitmap} against {@link BitSet}, which serves as the reference model. */
+class SlotBitmapTest {
+
+    private static final int CHUNK = 1 << 16;
+    private static final int ARRAY_MAX = 4096;
+
+    @Test
+    void withAndWithoutCrossTheArrayBitsetBoundary() {
+        BitSet model = new BitSet();
+        for (int i = 0; i < ARRAY_MAX; i++) {
+            model.set(i * 7);
+        }
+        SlotBitmap bitmap = SlotBitmap.of(model.stream().toArray());
+        assertSame(bitmap, model);
+
+        // 4097th member turns the chunk into a bit set, removing it turns it back into an array
+        bitmap = bitmap.with(1);
+        model.set(1);
+        assertSame(bitmap, model);
+        bitmap = bitmap.with(CHUNK - 1);
+        model.set(CHUNK - 1);
+        assertSame(bitmap, model);
+        bitmap = bitmap.without(1).without(CHUNK - 1);
+        model.clear(1);
+        model.clear(CHUNK - 1);
+        assertSame(bitmap, model);
+        bitmap = bitmap.without(0);
+        model.clear(0);
+        assertSame(bitmap, model);
+    }
+
+    @Test
+    void withAndWithoutAcrossChunkBoundaries() {
+        BitSet model = new BitSet();
+        SlotBitmap bitmap = SlotBitmap.EMPTY;
+        int[] edges = {0, CHUNK - 1, CHUNK, 2 * CHUNK - 1, 2 * CHUNK, 5 * CHUNK + 3};
+        for (int slot : edges) {
+            bitmap = bitmap.with(slot);
+            model.set(slot);
+            assertSame(bitmap, model);
+        }
+        assertThat(bitmap.with(CHUNK)).isSameAs(bitmap);
+        assertThat(bitmap.without(3 * CHUNK)).isSameAs(bitmap);
+        for (int slot : edges) {
+            bitmap = bitmap.without(slot);
+            model.clear(slot);
+            assertSame(bitmap, model);
+        }
+        assertThat(bitmap.isEmpty()).isTrue();
+    }
+
+    @Test
+    void andOrAndCardinalityMatchBitSet() {
+        Random random = new Random(7);
+        for (int round = 0; round < 100; round++) {
+            int range = random.nextBoolean() ? 4 * CHUNK : CHUNK + CHUNK / 2;
+            BitSet x = randomSet(random, range, random.nextInt(3 * ARRAY_MAX));
+            BitSet y = randomSet(random, range / (1 + random.nextInt(3)), random.nextInt(3 * ARRAY_MAX));
+            SlotBitmap bx = SlotBitmap.of(x.stream().toArray());
+            SlotBitmap by = SlotBitmap.of(y.stream().toArray());
+
+            BitSet and = (BitSet) x.clone();
+            and.and(y);
+            BitSet or = (BitSet) x.clone();
+            or.or(y);
+            assertSame(bx.and(by), and);
+            assertSame(by.and(bx), and);
+            assertSame(bx.or(by), or);
+            assertSame(by.or(bx), or);
+            assertThat(bx.andCardinality(by)).isEqualTo(and.cardinality());
+
+            int slot = random.nextInt(range);
+            BitSet with = (BitSet) x.clone();
+            with.set(slot);
+            assertSame(bx.with(slot), with);
+            int member = x.nextSetBit(slot);
+            if (member >= 0) {
+                BitSet without = (BitSet) x.clone();
+                without.clear(member);
+                assertSame(bx.without(member), without);
+            }
+        }
+    }
+
+    @Test
+    void operationsOnDenseAndSparseChunks() {
+        BitSet dense = new BitSet();
+        dense.set(0, ARRAY_MAX * 3);
+        dense.set(CHUNK, CHUNK + ARRAY_MAX + 1);
+        BitSet sparse = new BitSet();
+        for (int i = 0; i < 3 * CHUNK; i += 97) {
+            sparse.set(i);
+        }
+        SlotBitmap bd = SlotBitmap.of(dense.stream().toArray());
+        SlotBitmap bs = SlotBitmap.of(sparse.stream().toArray());
+
+        BitSet and = (BitSet) dense.clone();
+        and.and(sparse);
+        BitSet or = (BitSet) dense.clone();
+        or.or(sparse);
+        assertSame(bd.and(bs), and);
+        assertSame(bd.or(bs), or);
+        assertThat(bd.andCardinality(bs)).isEqualTo(and.cardinality());
+        assertSame(bd.and(SlotBitmap.EMPTY), new BitSet());
+        assertSame(bd.or(SlotBitmap.EMPTY), dense);
+    }
+
+    private static BitSet randomSet(Random random, int range, int count) {
+        BitSet set = new BitSet();
+        for (int i = 0; i < count; i++) {
+            set.set(random.nextInt(range));
+        }
+        return set;
+    }
+
+    private static void assertSame(SlotBitmap bitmap, BitSet model) {
+        assertThat(bitmap.toArray()).isEqualTo(model.stream().toArray());
+        assertThat(bitmap.cardinality()).isEqualTo(model.cardinality());
+        assertThat(bitmap.isEmpty()).isEqualTo(model.isEmpty());
+        assertThat(model.stream().filter(slot -> !bitmap.contains(slot)).findFirst()).isEmpty();
+    }
+}
@@ -0,0 +1,186 @@
+package com.soil2spoon.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Offset pages, keyset pages and filtered pages of an incrementally updated {@link CatalogSnapshot}, in every
+ * sort order, against a plain sorted list of the same products.
+ */
+class SortIndexTest {
+
+    @Test
+    void incrementalSnapshotPagesMatchSortedModel() {
+        Random random = new Random(3);
+        Map<Long, CatalogProduct> model = new TreeMap<>();
+        for (long id = 1; id <= 5000; id++) {
+            model.put(id, TestProducts.random(random, id));
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.build(1, 1, new ArrayList<>(model.values()));
+        long nextId = 5001;
+
+        for (int round = 0; round < 30; round++) {
+            List<CatalogProduct> upserts = new ArrayList<>();
+            List<Long> removed = new ArrayList<>();
+            int changes = random.nextInt(50);
+            for (int k = 0; k < changes; k++) {
+                long id = 1 + random.nextInt((int) nextId - 1);
+                if (random.nextInt(4) == 0) {
+                    removed.add(id);
+                } else {
+                    upserts.add(TestProducts.random(random, id));
+                }
+            }
+            int added = random.nextInt(5);
+            for (int k = 0; k < added; k++) {
+                upserts.add(TestProducts.random(random, nextId++));
+            }
+            Set<Long> upserted = upserts.stream().map(CatalogProduct::id).collect(Collectors.toSet());
+            removed.removeIf(upserted::contains);
+            List<CatalogProduct> gone = removed.stream().map(model::get).filter(Objects::nonNull).toList();
+
+            snapshot = snapshot.withChanges(snapshot.version() + 1, upserts, removed);
+            upserts.forEach(p -> model.put(p.id(), p));
+            removed.forEach(model::remove);
+
+            for (CatalogSnapshot.SortOrder sort : CatalogSnapshot.SortOrder.values()) {
+                for (String category : new String[] {null, "pastes", "pickles"}) {
+                    List<Long> expected = model.values().stream()
+                            .filter(p -> category == null || category.equals(p.categoryId()))
+                            .sorted(order(sort))
+                            .map(CatalogProduct::id)
+                            .toList();
+                    int offset = random.nextInt(Math.max(1, expected.size()));
+                    int limit = 1 + random.nextInt(40);
+                    assertThat(ids(snapshot.page(category, sort, offset, limit)))
+                            .as("%s %s", sort, category)
+                            .isEqualTo(expected.subList(offset, Math.min(expected.size(), offset + limit)));
+                }
+                for (String category : new String[] {null, "pickles"}) {
+                    assertKeysetWalk(snapshot, model, sort, category, 1 + random.nextInt(400));
+                }
+                for (CatalogProduct removedProduct : gone) {
+                    assertPageAfter(snapshot, model, sort, removedProduct);
+                }
+                assertRareCandidatesPageAfter(snapshot, model, sort, random);
+                // a third of the catalog walks the full order; a rare combination is sorted directly
+                assertFilterPage(snapshot, model, sort, Map.of(FacetIndex.DIETARY_PREFERENCE, List.of("Vegan")));
+                assertFilterPage(snapshot, model, sort, Map.of(FacetIndex.DIETARY_PREFERENCE, List.of("Vegan"),
+                        FacetIndex.CATEGORY, List.of("pickles"), FacetIndex.FLAVOUR, List.of("Mint")));
+            }
+        }
+    }
+
+    /** Following each page's last product from the first page to the end visits the category once, in order. */
+    private static void assertKeysetWalk(CatalogSnapshot snapshot, Map<Long, CatalogProduct> model,
+                                         CatalogSnapshot.SortOrder sort, String category, int limit) {
+        List<Long> expected = model.values().stream()
+                .filter(p -> category == null || category.equals(p.categoryId()))
+                .sorted(order(sort))
+                .map(CatalogProduct::id)
+                .toList();
+        List<Long> walked = new ArrayList<>();
+        List<CatalogProduct> page = snapshot.page(category, sort, 0, limit);
+        while (!page.isEmpty() && walked.size() <= expected.size()) {
+            walked.addAll(ids(page));
+            CatalogProduct last = page.get(page.size() - 1);
+            page = snapshot.pageAfter(category, sort, CatalogSnapshot.sortKey(sort, last), last.id(), limit);
+        }
+        assertThat(walked).as("keyset %s %s", sort, category).isEqualTo(expected);
+    }
+
+    /** A cursor whose product has since been deleted still resumes right after that product's position. */
+    private static void assertPageAfter(CatalogSnapshot snapshot, Map<Long, CatalogProduct> model,
+                                        CatalogSnapshot.SortOrder sort, CatalogProduct removedProduct) {
+        List<Long> expected = model.values().stream()
+                .filter(p -> order(sort).compare(p, removedProduct) > 0)
+                .sorted(order(sort))
+                .limit(20)
+                .map(CatalogProduct::id)
+                .toList();
+        List<CatalogProduct> page = snapshot.pageAfter(null, sort, CatalogSnapshot.sortKey(sort, removedProduct),
+                removedProduct.id(), 20);
+        assertThat(ids(page)).as("after removed %s %s", sort, removedProduct.id()).isEqualTo(expected);
+    }
+
+    /** Candidate sets below an eighth of the catalog are sorted directly instead of walking the full order. */
+    private static void assertRareCandidatesPageAfter(CatalogSnapshot snapshot, Map<Long, CatalogProduct> model,
+                                                      CatalogSnapshot.SortOrder sort, Random random) {
+        List<CatalogProduct> rare = model.values().stream().filter(p -> p.id() % 13 == 0).sorted(order(sort)).toList();
+        CatalogProduct from = rare.get(random.nextInt(rare.size()));
+        List<Long> expected = rare.stream()
+                .filter(p -> order(sort).compare(p, from) > 0)
+                .limit(15)
+                .map(CatalogProduct::id)
+                .toList();
+
+        CatalogProduct[] products = new CatalogProduct[snapshot.slotCount()];
+        long[] ids = new long[snapshot.slotCount()];
+        CatalogSnapshot.IntList candidates = new CatalogSnapshot.IntList();
+        for (int slot = 0; slot < products.length; slot++) {
+            products[slot] = snapshot.at(slot);
+            if (products[slot] != null) {
+                ids[slot] = products[slot].id();
+                if (ids[slot] % 13 == 0) candidates.add(slot);
+            }
+        }
+        int[] slots = snapshot.sortIndex().pageAfter(sort, products, ids, candidates.toArray(),
+                slot -> ids[slot] % 13 == 0, CatalogSnapshot.sortKey(sort, from), from.id(), 15);
+        List<Long> actual = Arrays.stream(slots).mapToObj(slot -> ids[slot]).toList();
+        assertThat(actual).as("rare %s", sort).isEqualTo(expected);
+    }
+
+    private static void assertFilterPage(CatalogSnapshot snapshot, Map<Long, CatalogProduct> model,
+                                         CatalogSnapshot.SortOrder sort, Map<String, List<String>> selected) {
+        List<Long> expected = model.values().stream()
+                .filter(p -> selected.entrySet().stream().allMatch(e -> e.getValue().contains(valueOf(p, e.getKey()))))
+                .sorted(order(sort))
+                .skip(5)
+                .limit(20)
+                .map(CatalogProduct::id)
+                .toList();
+        CatalogSnapshot.FilterResult filtered = snapshot.filter(selected, sort, 5, 20);
+        assertThat(ids(filtered.products())).as("filter %s %s", sort, selected).isEqualTo(expected);
+    }
+
+    /** Never null, since List.of(...).contains(null) throws. */
+    private static String valueOf(CatalogProduct p, String attribute) {
+        String value = switch (attribute) {
+            case FacetIndex.CATEGORY -> p.categoryId();
+            case FacetIndex.DIETARY_PREFERENCE -> p.highlights().dietaryPreference();
+            case FacetIndex.FLAVOUR -> p.highlights().flavour();
+            default -> throw new IllegalArgumentException(attribute);
+        };
+        return value != null ? value : "";
+    }
+
+    /** The documented order of each sort, ties broken by product id. */
+    private static Comparator<CatalogProduct> order(CatalogSnapshot.SortOrder sort) {
+        Comparator<CatalogProduct> primary = switch (sort) {
+            case PRICE_ASC -> Comparator.comparingInt(CatalogProduct::price);
+            case PRICE_DESC -> Comparator.comparingInt((CatalogProduct p) -> -p.price());
+            case RATING -> Comparator.comparingLong((CatalogProduct p) -> -Math.round(p.rating() * 100))
+                    .thenComparingInt(p -> -p.reviewCount());
+            case POPULARITY -> Comparator.comparingInt((CatalogProduct p) -> -p.reviewCount())
+                    .thenComparingLong(p -> -Math.round(p.rating() * 100));
+            case DISCOUNT -> Comparator.comparingInt((CatalogProduct p) -> -SortIndex.discountBasisPoints(p));
+        };
+        return primary.thenComparingLong(CatalogProduct::id);
+    }
+
+    private static List<Long> ids(List<CatalogProduct> products) {
+        return products.stream().map(CatalogProduct::id).toList();
+    }
+}
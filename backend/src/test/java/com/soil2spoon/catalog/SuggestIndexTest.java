@@ -0,0 +1,33 @@
+package com.soil2spoon.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestIndexTest {
+
+    @Test
+    void fullPageOfExactPrefixMatchesIsNotPaddedWithFuzzyOnes() {
+        List<CatalogProduct> products = new ArrayList<>();
+        for (int i = 0; i < ProductCatalog.MAX_SUGGESTIONS + 5; i++) {
+            products.add(product(i + 1, "Garlic Blend " + (char) ('a' + i), 100 + i));
+        }
+        products.add(product(100, "Garlik Pickle", 10_000)); // one edit away and far more popular
+        SuggestIndex index = SuggestIndex.build(CatalogSnapshot.build(1, 1, products), Map.of());
+
+        List<SuggestIndex.Hit> hits = index.suggest("garlic", ProductCatalog.MAX_SUGGESTIONS);
+
+        assertThat(hits).hasSize(ProductCatalog.MAX_SUGGESTIONS);
+        assertThat(hits).allSatisfy(hit -> assertThat(hit.edits()).isZero());
+        assertThat(hits.get(0).text()).isEqualTo("Garlic Blend y"); // most reviewed first
+    }
+
+    private static CatalogProduct product(long id, String name, int reviews) {
+        return new CatalogProduct(id, name, "p" + id, 100, null, null, 4.0, reviews, null, null, List.of(), null,
+                null, false, false, null, null);
+    }
+}
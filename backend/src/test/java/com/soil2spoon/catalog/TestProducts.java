@@ -0,0 +1,77 @@
+package com.soil2spoon.catalog;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+/** Random catalog products for the index tests; the same seed always yields the same products. */
+final class TestProducts {
+
+    static final String[] WORDS = {
+            "garlic", "ginger", "chilli", "chillies", "chilly", "paste", "pastes", "powder", "red", "green",
+            "fresh", "hot", "spicy", "mint", "turmeric", "berry", "berries", "masala", "jar", "pouch"
+    };
+    static final String[] CATEGORIES = {"pastes", "powders", "spices", "pickles"};
+    static final String[] DIETS = {"Veg", "Non-Veg", "Vegan"};
+    static final String[] FLAVOURS = {"Garlic", "Ginger", "Chilli", "Mint", null};
+
+    private TestProducts() {
+    }
+
+    static CatalogProduct random(Random random, long id) {
+        int price = 50 + random.nextInt(2000);
+        return new CatalogProduct(
+                id,
+                words(random, 1 + random.nextInt(4)),
+                "p" + id,
+                price,
+                random.nextBoolean() ? price + random.nextInt(500) : null,
+                CATEGORIES[random.nextInt(CATEGORIES.length)],
+                random.nextInt(51) / 10.0,
+                random.nextInt(300),
+                null,
+                null,
+                List.of(),
+                null,
+                words(random, random.nextInt(12)),
+                false,
+                false,
+                new CatalogProduct.Highlights(null, "Paste", DIETS[random.nextInt(DIETS.length)], null,
+                        FLAVOURS[random.nextInt(FLAVOURS.length)], null, null, null, null, "Jar"),
+                null);
+    }
+
+    /**
+     * One random round of catalog changes in the shape the {@code withChanges} methods take: up to
+     * {@code maxChanges} slots replaced by new products or emptied (one in four), plus up to three appended slots.
+     */
+    static Mutation mutate(Random random, CatalogProduct[] products, int maxChanges, LongSupplier nextId) {
+        int appended = random.nextInt(4);
+        CatalogProduct[] after = Arrays.copyOf(products, products.length + appended);
+        int[] changed = new int[random.nextInt(maxChanges) + appended];
+        for (int i = 0; i < changed.length - appended; i++) {
+            int slot = random.nextInt(products.length);
+            changed[i] = slot;
+            after[slot] = random.nextInt(4) == 0 ? null : random(random, nextId.getAsLong());
+        }
+        for (int i = 0; i < appended; i++) {
+            int slot = products.length + i;
+            changed[changed.length - appended + i] = slot;
+            after[slot] = random(random, nextId.getAsLong());
+        }
+        return new Mutation(after, changed);
+    }
+
+    /** Slot array after a {@link #mutate} round and the slots it changed (possibly repeated). */
+    record Mutation(CatalogProduct[] after, int[] changed) {}
+
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
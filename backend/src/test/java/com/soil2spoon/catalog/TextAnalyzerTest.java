@@ -0,0 +1,32 @@
+package com.soil2spoon.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextAnalyzerTest {
+
+    @Test
+    void foldsSingularAndPluralSpellingsToOneStem() {
+        assertThat(TextAnalyzer.normalize("chillies")).isEqualTo(TextAnalyzer.normalize("chilli"));
+        assertThat(TextAnalyzer.normalize("chilly")).isEqualTo(TextAnalyzer.normalize("chilli"));
+        assertThat(TextAnalyzer.normalize("berries")).isEqualTo(TextAnalyzer.normalize("berry"));
+        assertThat(TextAnalyzer.normalize("pastes")).isEqualTo("paste");
+        assertThat(TextAnalyzer.normalize("glass")).isEqualTo("glass");
+        assertThat(TextAnalyzer.normalize("soy")).isEqualTo("soy");
+        assertThat(TextAnalyzer.normalize("the")).isNull();
+    }
+
+    @Test
+    void lowerCasesIndependentlyOfDefaultLocale() {
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            assertThat(TextAnalyzer.terms("RED CHILLI")).containsExactly("red", "chilli");
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.soil2spoon.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold versus warm {@link JwtService#parseValidToken}. Cold rotates through more distinct tokens than its
+ * one-entry cache holds, so every call verifies the signature and parses the claims; warm resends one token.
+ * {@code digestOnly} is the SHA-256 every call pays to look the token up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyThatIsAtLeast32BytesLong";
+    private static final long EXPIRATION_MS = 3_600_000;
+
+    @State(Scope.Thread)
+    public static class Cold {
+        JwtService jwtService;
+        String[] tokens;
+        int next;
+
+        @Setup
+        public void setUp() {
+            jwtService = new JwtService(SECRET, EXPIRATION_MS, 1);
+            tokens = new String[1024];
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = jwtService.generateToken("user" + i + "@example.com", (long) i, "USER");
+            }
+        }
+
+        String nextToken() {
+            String token = tokens[next];
+            next = (next + 1) & (tokens.length - 1);
+            return token;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Warm {
+        JwtService jwtService;
+        String token;
+
+        @Setup
+        public void setUp() {
+            jwtService = new JwtService(SECRET, EXPIRATION_MS, 10_000);
+            token = jwtService.generateToken("user@example.com", 42L, "USER");
+            jwtService.parseValidToken(token);
+        }
+    }
+
+    @Benchmark
+    public Claims cold(Cold state) {
+        return state.jwtService.parseValidToken(state.nextToken());
+    }
+
+    @Benchmark
+    public Claims warm(Warm state) {
+        return state.jwtService.parseValidToken(state.token);
+    }
+
+    @Benchmark
+    public String digestOnly(Warm state) {
+        return TokenDigests.sha256Hex(state.token);
+    }
+}
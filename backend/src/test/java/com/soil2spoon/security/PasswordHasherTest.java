@@ -0,0 +1,84 @@
+package com.soil2spoon.security;
+
+import com.soil2spoon.support.ServiceBusyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    @Test
+    void callerThatTimesOutInTheQueueWithdrawsItsHash() throws Exception {
+        SlowEncoder encoder = new SlowEncoder();
+        PasswordHasher hasher = new PasswordHasher(encoder, 1, 4, 100);
+        try {
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> hasher.encode("first"));
+            assertThat(encoder.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> hasher.encode("second")).isInstanceOf(ServiceBusyException.class);
+            assertThat(hasher.metrics()).containsEntry("queued", 0);
+
+            encoder.release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:first");
+            assertThat(hasher.encode("third")).isEqualTo("hashed:third");
+            assertThat(encoder.calls.get()).isEqualTo(2);
+        } finally {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void startedHashOutlivingTheTimeoutStillReturnsItsResult() throws Exception {
+        SlowEncoder encoder = new SlowEncoder();
+        PasswordHasher hasher = new PasswordHasher(encoder, 1, 4, 50);
+        try {
+            CompletableFuture<String> caller = CompletableFuture.supplyAsync(() -> hasher.encode("slow"));
+            assertThat(encoder.started.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(200);
+            encoder.release.countDown();
+
+            assertThat(caller.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:slow");
+            assertThat(hasher.metrics()).containsEntry("rejected", 0L);
+        } finally {
+            hasher.shutdown();
+        }
+    }
+
+    /** Blocks the first encode until released, like a BCrypt hash that ignores interrupts. */
+    private static final class SlowEncoder implements PasswordEncoder {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            calls.incrementAndGet();
+            started.countDown();
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
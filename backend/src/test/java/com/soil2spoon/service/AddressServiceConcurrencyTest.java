@@ -0,0 +1,132 @@
+package com.soil2spoon.service;
+
+import com.soil2spoon.domain.User;
+import com.soil2spoon.domain.UserAddress;
+import com.soil2spoon.dto.AddressRequest;
+import com.soil2spoon.repository.UserAddressRepository;
+import com.soil2spoon.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Concurrent default-address changes against the dev H2 database; every run must end with exactly one default. */
+@SpringBootTest
+class AddressServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private AddressService addressService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserAddressRepository addressRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        Instant now = Instant.now();
+        userId = userRepository.save(User.builder()
+                .email("concurrency-" + UUID.randomUUID() + "@example.com")
+                .password("unused")
+                .name("Concurrency Test")
+                .createdAt(now)
+                .updatedAt(now)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void deleteUser() {
+        addressRepository.deleteAll(addressRepository.findByUserIdOrderByIsDefaultDescIdAsc(userId));
+        userRepository.deleteById(userId);
+    }
+
+    @Test
+    void parallelCreatesAsDefaultLeaveOneDefault() throws Exception {
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int n = i;
+            tasks.add(() -> addressService.createAddress(userId, request("House " + n, true)));
+        }
+        int succeeded = runConcurrently(tasks);
+
+        assertThat(succeeded).isPositive();
+        assertOneDefault();
+    }
+
+    @Test
+    void parallelUpdatesToDefaultLeaveOneDefault() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            ids.add(addressService.createAddress(userId, request("House " + i, false)).getId());
+        }
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (Long id : ids) {
+            tasks.add(() -> addressService.updateAddress(userId, id, request("House " + id, true)));
+        }
+        int succeeded = runConcurrently(tasks);
+
+        assertThat(succeeded).isPositive();
+        assertOneDefault();
+    }
+
+    /**
+     * Starts all tasks at once and returns how many completed. A task that lost the race must fail with the
+     * translated 400 or a lock timeout, never with a raw constraint violation.
+     */
+    private static int runConcurrently(List<Callable<Object>> tasks) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (Callable<Object> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            int succeeded = 0;
+            for (Future<Object> future : futures) {
+                try {
+                    future.get();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOfAny(IllegalArgumentException.class, ConcurrencyFailureException.class);
+                }
+            }
+            return succeeded;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void assertOneDefault() {
+        List<UserAddress> defaults = addressRepository.findByUserIdOrderByIsDefaultDescIdAsc(userId).stream()
+                .filter(UserAddress::getIsDefault)
+                .toList();
+        assertThat(defaults).hasSize(1);
+        assertThat(defaults.get(0).getDefaultUserId()).isEqualTo(userId);
+    }
+
+    private static AddressRequest request(String line1, boolean isDefault) {
+        return new AddressRequest("Test User", "9876543210", line1, null, "Bengaluru", "Karnataka", "560001", isDefault);
+    }
+}
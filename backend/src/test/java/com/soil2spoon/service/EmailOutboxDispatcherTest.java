@@ -0,0 +1,205 @@
+package com.soil2spoon.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.soil2spoon.domain.OutboundEmail;
+import com.soil2spoon.repository.OutboundEmailRepository;
+import jakarta.mail.Multipart;
+import jakarta.mail.Part;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@link EmailOutboxDispatcher#dispatchBatch()} against the dev H2 database and an embedded GreenMail
+ * SMTP server. The application's own dispatcher stays idle because the dev profile configures no mail username.
+ */
+@SpringBootTest
+class EmailOutboxDispatcherTest {
+
+    private static final String FROM = "outbox@soil2spoon.test";
+    private static final long INITIAL_BACKOFF_MS = 30_000;
+    private static final long LEASE_MS = 60_000;
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private OutboundEmailRepository outboundEmailRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        outboundEmailRepository.deleteAll();
+    }
+
+    @Test
+    void sendsDueEmailsInOneBatchAndClearsResetLinks() throws Exception {
+        CountingMailSender mailSender = mailSender(ServerSetupTest.SMTP.getPort());
+        EmailOutboxDispatcher dispatcher = dispatcher(mailSender, 8);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(enqueue("user" + i + "@example.com", resetLink(i)).getId());
+        }
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(3);
+
+        assertThat(mailSender.batches).containsExactly(3);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        List<String> bodies = new ArrayList<>();
+        for (MimeMessage message : received) {
+            bodies.add(text(message));
+        }
+        assertThat(bodies).anySatisfy(body -> assertThat(body).contains(resetLink(0)));
+        for (Long id : ids) {
+            OutboundEmail email = outboundEmailRepository.findById(id).orElseThrow();
+            assertThat(email.getStatus()).isEqualTo(OutboundEmail.Status.SENT);
+            assertThat(email.getHtmlBody()).isNull();
+            assertThat(email.getSentAt()).isNotNull();
+            assertThat(email.getAttempts()).isEqualTo(1);
+            assertThat(email.getLastError()).isNull();
+        }
+        assertThat(dispatcher.dispatchBatch()).isZero();
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+    }
+
+    @Test
+    void leasedEmailIsNotSentAgainUntilTheLeaseExpires() {
+        CountingMailSender mailSender = mailSender(ServerSetupTest.SMTP.getPort());
+        EmailOutboxDispatcher dispatcher = dispatcher(mailSender, 8);
+        OutboundEmail email = enqueue("leased@example.com", resetLink(1));
+        Instant now = Instant.now();
+
+        assertThat(claim(email.getId(), now)).isEqualTo(1);
+        assertThat(claim(email.getId(), now)).isZero();
+
+        assertThat(dispatcher.dispatchBatch()).isZero();
+        assertThat(mailSender.batches).isEmpty();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+
+        // The other dispatcher died holding the lease; once it runs out the email is picked up again
+        makeDue(email.getId());
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(1);
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(outboundEmailRepository.findById(email.getId()).orElseThrow().getStatus())
+                .isEqualTo(OutboundEmail.Status.SENT);
+    }
+
+    @Test
+    void failedSendBacksOffThenGivesUpAndClearsTheBody() throws Exception {
+        CountingMailSender mailSender = mailSender(closedPort());
+        EmailOutboxDispatcher dispatcher = dispatcher(mailSender, 2);
+        OutboundEmail email = enqueue("unreachable@example.com", resetLink(2));
+
+        Instant before = Instant.now();
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(1);
+        Instant after = Instant.now();
+
+        OutboundEmail retried = outboundEmailRepository.findById(email.getId()).orElseThrow();
+        assertThat(retried.getStatus()).isEqualTo(OutboundEmail.Status.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).isNotBlank();
+        assertThat(retried.getHtmlBody()).contains(resetLink(2));
+        assertThat(retried.getNextAttemptAt()).isBetween(
+                before.plusMillis(INITIAL_BACKOFF_MS).minusMillis(1), after.plusMillis(INITIAL_BACKOFF_MS));
+        assertThat(dispatcher.dispatchBatch()).isZero();
+
+        makeDue(email.getId());
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(1);
+
+        OutboundEmail failed = outboundEmailRepository.findById(email.getId()).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(OutboundEmail.Status.FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(2);
+        assertThat(failed.getHtmlBody()).isNull();
+        assertThat(failed.getSentAt()).isNull();
+        assertThat(mailSender.batches).containsExactly(1, 1);
+        assertThat(dispatcher.dispatchBatch()).isZero();
+    }
+
+    private EmailOutboxDispatcher dispatcher(CountingMailSender mailSender, int maxAttempts) {
+        return new EmailOutboxDispatcher(outboundEmailRepository, mailSender, transactionManager, FROM,
+                50, 5000, maxAttempts, INITIAL_BACKOFF_MS, 3_600_000, LEASE_MS);
+    }
+
+    private static CountingMailSender mailSender(int port) {
+        CountingMailSender mailSender = new CountingMailSender();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        return mailSender;
+    }
+
+    private OutboundEmail enqueue(String to, String link) {
+        Instant now = Instant.now();
+        return outboundEmailRepository.save(OutboundEmail.builder()
+                .toAddress(to)
+                .subject("Reset your password")
+                .htmlBody("<p><a href=\"" + link + "\">Reset password</a></p>")
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+
+    /** Leases the email the way a second dispatcher instance would. */
+    private int claim(Long id, Instant now) {
+        Integer claimed = new TransactionTemplate(transactionManager)
+                .execute(status -> outboundEmailRepository.claim(id, now, now.plusMillis(LEASE_MS)));
+        return claimed != null ? claimed : 0;
+    }
+
+    private void makeDue(Long id) {
+        OutboundEmail email = outboundEmailRepository.findById(id).orElseThrow();
+        email.setNextAttemptAt(Instant.now().minus(Duration.ofSeconds(1)));
+        outboundEmailRepository.save(email);
+    }
+
+    private static String resetLink(int n) {
+        return "https://soil2spoon.test/reset-password/token-" + n;
+    }
+
+    private static String text(Part part) throws Exception {
+        Object content = part.getContent();
+        if (content instanceof Multipart multipart) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < multipart.getCount(); i++) {
+                text.append(text(multipart.getBodyPart(i)));
+            }
+            return text.toString();
+        }
+        return String.valueOf(content);
+    }
+
+    /** A port nothing listens on, so every connection attempt is refused. */
+    private static int closedPort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /** Records the size of every batch handed to the SMTP sender. */
+    private static final class CountingMailSender extends JavaMailSenderImpl {
+        final List<Integer> batches = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(MimeMessage... mimeMessages) {
+            batches.add(mimeMessages.length);
+            super.send(mimeMessages);
+        }
+    }
+}
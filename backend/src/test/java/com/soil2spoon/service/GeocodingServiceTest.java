@@ -0,0 +1,176 @@
+package com.soil2spoon.service;
+
+import com.soil2spoon.config.RestTemplateConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link GeocodingService} against a local stub of the Geocoding API (a JDK {@link HttpServer} whose latency and
+ * status the test controls), using the application's RestTemplate with a short read timeout.
+ */
+class GeocodingServiceTest {
+
+    private static final long READ_TIMEOUT_MS = 500;
+    private static final String OK = "{\"status\":\"OK\",\"results\":[{\"address_components\":["
+            + "{\"long_name\":\"India\",\"types\":[\"country\"]},"
+            + "{\"long_name\":\"560001\",\"types\":[\"postal_code\"]}]}]}";
+
+    private final AtomicLong delayMs = new AtomicLong();
+    private final AtomicReference<String> body = new AtomicReference<>(OK);
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger nextAddress = new AtomicInteger();
+    private HttpServer server;
+    private ExecutorService serverThreads;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/geocode/json", this::respond);
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void timeoutsOpenTheCircuitAndAHalfOpenTrialClosesIt() throws Exception {
+        GeocodingService geocoding = service("accept", 3, 300, 10, 200);
+        delayMs.set(READ_TIMEOUT_MS * 4);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(validate(geocoding)).isEqualTo(GeocodingService.Outcome.PENDING_VERIFICATION);
+        }
+        assertThat(geocoding.metrics())
+                .containsEntry("circuitState", "OPEN")
+                .containsEntry("circuitOpened", 1L)
+                .containsEntry("failures", 3L);
+
+        assertThat(validate(geocoding)).isEqualTo(GeocodingService.Outcome.PENDING_VERIFICATION);
+        assertThat(requests.get()).isEqualTo(3);
+        assertThat(geocoding.metrics()).containsEntry("shortCircuited", 1L);
+
+        Thread.sleep(350);
+        delayMs.set(READ_TIMEOUT_MS / 5);
+        CompletableFuture<GeocodingService.Outcome> trial = CompletableFuture.supplyAsync(() -> validate(geocoding));
+        awaitRequests(4);
+        assertThat(geocoding.metrics()).containsEntry("circuitState", "HALF_OPEN");
+        assertThat(validate(geocoding)).isEqualTo(GeocodingService.Outcome.PENDING_VERIFICATION);
+        assertThat(geocoding.metrics()).containsEntry("shortCircuited", 2L);
+
+        assertThat(trial.get(5, TimeUnit.SECONDS)).isEqualTo(GeocodingService.Outcome.ACCEPTED);
+        assertThat(geocoding.metrics()).containsEntry("circuitState", "CLOSED");
+        assertThat(validate(geocoding)).isEqualTo(GeocodingService.Outcome.ACCEPTED);
+        assertThat(requests.get()).isEqualTo(5);
+    }
+
+    @Test
+    void fullBulkheadRejectsWithoutCallingTheUpstream() throws Exception {
+        GeocodingService geocoding = service("accept", 5, 30_000, 1, 50);
+        delayMs.set(READ_TIMEOUT_MS / 2);
+
+        CompletableFuture<GeocodingService.Outcome> inFlight = CompletableFuture.supplyAsync(() -> validate(geocoding));
+        awaitRequests(1);
+        assertThat(validate(geocoding)).isEqualTo(GeocodingService.Outcome.PENDING_VERIFICATION);
+        assertThat(geocoding.metrics())
+                .containsEntry("bulkheadRejected", 1L)
+                .containsEntry("fallbackAccepted", 1L);
+
+        assertThat(inFlight.get(5, TimeUnit.SECONDS)).isEqualTo(GeocodingService.Outcome.ACCEPTED);
+        assertThat(requests.get()).isEqualTo(1);
+        assertThat(geocoding.metrics()).containsEntry("circuitState", "CLOSED");
+    }
+
+    @Test
+    void requestDeniedIsNotCountedByTheCircuitBreaker() {
+        GeocodingService geocoding = service("accept", 2, 30_000, 10, 200);
+        body.set("{\"status\":\"REQUEST_DENIED\",\"error_message\":\"The provided API key is invalid.\"}");
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(validate(geocoding)).isEqualTo(GeocodingService.Outcome.PENDING_VERIFICATION);
+        }
+        assertThat(requests.get()).isEqualTo(5);
+        assertThat(geocoding.metrics())
+                .containsEntry("circuitState", "CLOSED")
+                .containsEntry("circuitOpened", 0L)
+                .containsEntry("failures", 0L)
+                .containsEntry("configErrors", 5L)
+                .containsEntry("fallbackAccepted", 5L);
+    }
+
+    @Test
+    void rejectFallbackFailsTheRequestWhileTheUpstreamIsDown() {
+        GeocodingService geocoding = service("reject", 5, 30_000, 10, 200);
+        body.set("{\"status\":\"UNKNOWN_ERROR\"}");
+
+        assertThatThrownBy(() -> validate(geocoding))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("temporarily unavailable");
+        assertThat(geocoding.metrics())
+                .containsEntry("failures", 1L)
+                .containsEntry("fallbackAccepted", 0L);
+    }
+
+    private GeocodingService service(String fallback, int failureThreshold, long openMs, int maxConcurrent,
+                                     long bulkheadWaitMs) {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/geocode/json";
+        return new GeocodingService(new RestTemplateConfig().restTemplate(1000, READ_TIMEOUT_MS),
+                new GeocodingCache(1000, 60_000, 60_000, ""), "test-key", baseUrl, fallback,
+                failureThreshold, openMs, maxConcurrent, bulkheadWaitMs);
+    }
+
+    /** A fresh address each time, so no verdict comes from the cache. */
+    private GeocodingService.Outcome validate(GeocodingService geocoding) {
+        return geocoding.validateAddress(nextAddress.incrementAndGet() + " MG Road", null, "Bengaluru",
+                "Karnataka", "560001");
+    }
+
+    private void awaitRequests(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (requests.get() < count) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            Thread.sleep(delayMs.get());
+        } catch (InterruptedException e) {
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(200, bytes.length);
+            out.write(bytes);
+        } catch (IOException e) {
+            // Client gave up after its read timeout
+        }
+    }
+}
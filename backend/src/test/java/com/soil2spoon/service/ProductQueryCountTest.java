@@ -0,0 +1,184 @@
+package com.soil2spoon.service;
+
+import com.soil2spoon.domain.Category;
+import com.soil2spoon.domain.Product;
+import com.soil2spoon.domain.User;
+import com.soil2spoon.dto.CartItemRequest;
+import com.soil2spoon.dto.CartItemResponse;
+import com.soil2spoon.dto.CursorPageResponse;
+import com.soil2spoon.dto.ProductRequest;
+import com.soil2spoon.dto.ProductResponse;
+import com.soil2spoon.repository.CartItemRepository;
+import com.soil2spoon.repository.CategoryRepository;
+import com.soil2spoon.repository.ProductRepository;
+import com.soil2spoon.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CollectionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements Hibernate prepares for product listings and cart writes on the database path
+ * (catalog snapshot off), so loading product images stays one batched query however many products a page holds.
+ */
+@SpringBootTest(properties = {
+        "app.catalog.snapshot.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProductQueryCountTest {
+
+    private static final String CATEGORY = "query-count";
+    private static final int PRODUCTS = 12;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private CartService cartService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CartItemRepository cartItemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<Long> productIds = new ArrayList<>();
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Category category = categoryRepository.save(Category.builder().id(CATEGORY).name("Query count").build());
+        for (int i = 0; i < PRODUCTS; i++) {
+            String slug = "query-count-" + UUID.randomUUID();
+            productIds.add(productRepository.save(Product.builder()
+                    .name("Query Count " + i)
+                    .slug(slug)
+                    .price(100 + i)
+                    .category(category)
+                    .rating(4.0)
+                    .reviewCount(0)
+                    .image("https://img.example/" + slug + "-1.png")
+                    .images(new ArrayList<>(List.of("https://img.example/" + slug + "-1.png",
+                            "https://img.example/" + slug + "-2.png")))
+                    .featured(false)
+                    .trending(false)
+                    .build()).getId());
+        }
+        Instant now = Instant.now();
+        userId = userRepository.save(User.builder()
+                .email("query-count-" + UUID.randomUUID() + "@example.com")
+                .password("unused")
+                .name("Query Count")
+                .createdAt(now)
+                .updatedAt(now)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartItemRepository.deleteAll(cartItemRepository.findByUserIdOrderByIdAsc(userId));
+        userRepository.deleteById(userId);
+        productRepository.deleteAllById(productIds);
+        categoryRepository.deleteById(CATEGORY);
+    }
+
+    @Test
+    void keysetListingPageIsTwoQueries() {
+        statistics.clear();
+        CursorPageResponse<ProductResponse> page = productService.findAfter(CATEGORY, null, null, PRODUCTS);
+
+        assertThat(page.getItems()).hasSize(PRODUCTS).allSatisfy(p -> assertThat(p.getImages()).hasSize(2));
+        // The page of products, then every product's images in one batch
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void offsetListingPageIsTwoQueriesPlusTheCount() {
+        statistics.clear();
+        Page<ProductResponse> page = productService.findAll(CATEGORY, null, PageRequest.of(0, PRODUCTS));
+
+        assertThat(page.getContent()).hasSize(PRODUCTS).allSatisfy(p -> assertThat(p.getImages()).hasSize(2));
+        assertThat(page.getTotalElements()).isEqualTo(PRODUCTS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void setCartLoadsProductsWithoutOneQueryPerProduct() {
+        long oneItem = countSetCart(productIds.subList(0, 1));
+        cartService.setCart(userId, List.of());
+        long allItems = countSetCart(productIds);
+
+        // Only the inserts grow with the cart: the products are fetched in one query and their images not at all
+        assertThat(allItems - oneItem).isEqualTo(PRODUCTS - 1);
+        assertThat(oneItem).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void updatingWithUnchangedImagesWritesNoImageRows() {
+        Long id = productIds.get(0);
+        ProductResponse before = productService.findByIds(List.of(id)).get(0);
+
+        statistics.clear();
+        productService.update(id, request(before, before.getImages()));
+        CollectionStatistics images = imageStatistics();
+        assertThat(images.getUpdateCount()).isZero();
+        assertThat(images.getRecreateCount()).isZero();
+        assertThat(images.getRemoveCount()).isZero();
+
+        List<String> changed = new ArrayList<>(before.getImages());
+        changed.set(1, "https://img.example/replaced.png");
+        statistics.clear();
+        productService.update(id, request(before, changed));
+        images = imageStatistics();
+        assertThat(images.getUpdateCount()).isEqualTo(1);
+        assertThat(images.getRecreateCount()).isZero();
+        assertThat(productService.findByIds(List.of(id)).get(0).getImages()).containsExactlyElementsOf(changed);
+    }
+
+    /** Fetched after every {@code clear()}, which replaces the per-collection statistics objects. */
+    private CollectionStatistics imageStatistics() {
+        return statistics.getCollectionStatistics(Product.class.getName() + ".images");
+    }
+
+    private long countSetCart(List<Long> ids) {
+        List<CartItemRequest> items = ids.stream().map(id -> new CartItemRequest(id, 1)).toList();
+        statistics.clear();
+        List<CartItemResponse> cart = cartService.setCart(userId, items);
+        assertThat(cart).hasSize(ids.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static ProductRequest request(ProductResponse p, List<String> images) {
+        return ProductRequest.builder()
+                .name(p.getName())
+                .slug(p.getSlug())
+                .price(p.getPrice())
+                .categoryId(CATEGORY)
+                .rating(p.getRating())
+                .reviewCount(p.getReviewCount())
+                .image(p.getImage())
+                .images(images)
+                .featured(false)
+                .trending(false)
+                .build();
+    }
+}
@@ -0,0 +1,283 @@
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds the binary pincode directory read by {@code com.soil2spoon.service.PincodeDirectory}.
+ * Standalone (no dependencies), run from the backend directory:
+ *
+ * <pre>
+ *   java tools/PincodeDirectoryGenerator.java src/main/resources/pincode/india-pincodes.bin [all_india_pincode.csv]
+ * </pre>
+ *
+ * Without a CSV the output only holds the built-in 3-digit prefix to state table (postal sorting districts).
+ * With a CSV (e.g. the All India Pincode Directory from data.gov.in; columns {@code pincode}, {@code district}
+ * and {@code statename} or {@code state}, matched by header name) it also holds one pincode to district/state
+ * entry per pincode, and the states seen there are added to the prefix table.
+ *
+ * <p>Layout (big-endian), kept in sync with PincodeDirectory:
+ * <pre>
+ *   int magic 'PIN1', int version
+ *   int stateCount,    stateCount x (short length, UTF-8 name)
+ *   1000 x long        state bitmask per 3-digit prefix (bit i = state i, 0 = unknown)
+ *   int districtCount, districtCount x (short length, UTF-8 name)
+ *   int entryCount,    entryCount x int pincode (ascending),
+ *                      entryCount x short state index, entryCount x int district index
+ * </pre>
+ */
+public class PincodeDirectoryGenerator {
+
+    static final int MAGIC = 0x50494E31;
+    static final int VERSION = 1;
+
+    /** Canonical state / union territory names; the index is the bit in the prefix masks. */
+    static final List<String> STATES = List.of(
+            "Andaman and Nicobar Islands", "Andhra Pradesh", "Arunachal Pradesh", "Assam", "Bihar",
+            "Chandigarh", "Chhattisgarh", "Dadra and Nagar Haveli and Daman and Diu", "Delhi", "Goa",
+            "Gujarat", "Haryana", "Himachal Pradesh", "Jammu and Kashmir", "Jharkhand",
+            "Karnataka", "Kerala", "Ladakh", "Lakshadweep", "Madhya Pradesh",
+            "Maharashtra", "Manipur", "Meghalaya", "Mizoram", "Nagaland",
+            "Odisha", "Puducherry", "Punjab", "Rajasthan", "Sikkim",
+            "Tamil Nadu", "Telangana", "Tripura", "Uttar Pradesh", "Uttarakhand",
+            "West Bengal");
+
+    /** Alternative spellings found in address data, mapped to canonical names. */
+    static final Map<String, String> ALIASES = Map.ofEntries(
+            Map.entry("orissa", "Odisha"),
+            Map.entry("pondicherry", "Puducherry"),
+            Map.entry("uttaranchal", "Uttarakhand"),
+            Map.entry("nct of delhi", "Delhi"),
+            Map.entry("new delhi", "Delhi"),
+            Map.entry("andaman and nicobar", "Andaman and Nicobar Islands"),
+            Map.entry("andaman nicobar islands", "Andaman and Nicobar Islands"),
+            Map.entry("dadra and nagar haveli", "Dadra and Nagar Haveli and Daman and Diu"),
+            Map.entry("daman and diu", "Dadra and Nagar Haveli and Daman and Diu"),
+            Map.entry("the dadra and nagar haveli and daman and diu", "Dadra and Nagar Haveli and Daman and Diu"),
+            Map.entry("jammu kashmir", "Jammu and Kashmir"),
+            Map.entry("chattisgarh", "Chhattisgarh"),
+            Map.entry("telengana", "Telangana"));
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("usage: java PincodeDirectoryGenerator.java <output.bin> [pincodes.csv]");
+            System.exit(1);
+        }
+        long[] prefixMasks = builtInPrefixMasks();
+        TreeMap<Integer, int[]> entries = new TreeMap<>(); // pincode -> {stateIndex, districtIndex}
+        Map<String, Integer> districts = new LinkedHashMap<>();
+        if (args.length == 2) {
+            readCsv(Path.of(args[1]), prefixMasks, entries, districts);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(STATES.size());
+            for (String s : STATES) {
+                writeString(out, s);
+            }
+            for (long mask : prefixMasks) {
+                out.writeLong(mask);
+            }
+            out.writeInt(districts.size());
+            for (String d : districts.keySet()) {
+                writeString(out, d);
+            }
+            out.writeInt(entries.size());
+            for (int pincode : entries.keySet()) {
+                out.writeInt(pincode);
+            }
+            for (int[] e : entries.values()) {
+                out.writeShort(e[0]);
+            }
+            for (int[] e : entries.values()) {
+                out.writeInt(e[1]);
+            }
+        }
+        Path output = Path.of(args[0]);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Files.write(output, bytes.toByteArray());
+        int knownPrefixes = 0;
+        for (long mask : prefixMasks) {
+            if (mask != 0) knownPrefixes++;
+        }
+        System.out.printf("Wrote %s: %d prefixes, %d pincodes, %d districts, %d bytes%n",
+                output, knownPrefixes, entries.size(), districts.size(), bytes.size());
+    }
+
+    /**
+     * 3-digit prefix (sorting district) to state(s). Prefixes whose area straddles a state or UT border
+     * list every state they serve, so the table can only reject combinations that are certainly wrong.
+     */
+    static long[] builtInPrefixMasks() {
+        long[] m = new long[1000];
+        range(m, 110, 110, "Delhi");
+        range(m, 121, 136, "Haryana");
+        range(m, 140, 159, "Punjab");
+        range(m, 160, 160, "Chandigarh", "Punjab", "Haryana");
+        range(m, 140, 140, "Chandigarh");
+        range(m, 134, 134, "Chandigarh");
+        range(m, 171, 177, "Himachal Pradesh");
+        range(m, 180, 186, "Jammu and Kashmir");
+        range(m, 190, 193, "Jammu and Kashmir");
+        range(m, 194, 194, "Ladakh", "Jammu and Kashmir");
+        range(m, 201, 285, "Uttar Pradesh");
+        range(m, 244, 249, "Uttarakhand");
+        range(m, 262, 263, "Uttarakhand");
+        range(m, 301, 345, "Rajasthan");
+        range(m, 360, 396, "Gujarat");
+        range(m, 362, 362, "Dadra and Nagar Haveli and Daman and Diu");
+        range(m, 396, 396, "Dadra and Nagar Haveli and Daman and Diu");
+        range(m, 400, 445, "Maharashtra");
+        range(m, 403, 403, "Goa");
+        range(m, 450, 488, "Madhya Pradesh");
+        range(m, 490, 497, "Chhattisgarh");
+        range(m, 500, 509, "Telangana");
+        range(m, 507, 507, "Andhra Pradesh");
+        range(m, 515, 535, "Andhra Pradesh");
+        range(m, 533, 533, "Puducherry");
+        range(m, 560, 591, "Karnataka");
+        range(m, 600, 643, "Tamil Nadu");
+        range(m, 605, 605, "Puducherry");
+        range(m, 607, 609, "Puducherry");
+        range(m, 670, 695, "Kerala");
+        range(m, 673, 673, "Puducherry");
+        range(m, 682, 682, "Lakshadweep");
+        range(m, 700, 743, "West Bengal");
+        range(m, 737, 737, "Sikkim");
+        range(m, 744, 744, "Andaman and Nicobar Islands");
+        range(m, 751, 770, "Odisha");
+        range(m, 781, 788, "Assam");
+        range(m, 790, 792, "Arunachal Pradesh");
+        range(m, 793, 794, "Meghalaya");
+        range(m, 795, 795, "Manipur");
+        range(m, 796, 796, "Mizoram");
+        range(m, 797, 798, "Nagaland");
+        range(m, 799, 799, "Tripura");
+        range(m, 800, 855, "Bihar");
+        range(m, 813, 816, "Jharkhand");
+        range(m, 822, 822, "Jharkhand");
+        range(m, 825, 835, "Jharkhand");
+        return m;
+    }
+
+    /** Adds the states to every prefix in [from, to]. Later calls add to, never replace, earlier ones. */
+    static void range(long[] masks, int from, int to, String... states) {
+        long bits = 0;
+        for (String s : states) {
+            int i = STATES.indexOf(s);
+            if (i < 0) throw new IllegalArgumentException("Unknown state " + s);
+            bits |= 1L << i;
+        }
+        for (int p = from; p <= to; p++) {
+            masks[p] |= bits;
+        }
+    }
+
+    static void readCsv(Path csv, long[] prefixMasks, TreeMap<Integer, int[]> entries,
+                        Map<String, Integer> districts) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) return;
+            List<String> columns = splitCsv(header.toLowerCase(Locale.ROOT));
+            int pinCol = columns.indexOf("pincode");
+            int districtCol = columns.indexOf("district");
+            int stateCol = columns.indexOf("statename") >= 0 ? columns.indexOf("statename") : columns.indexOf("state");
+            if (pinCol < 0 || districtCol < 0 || stateCol < 0) {
+                throw new IllegalArgumentException("CSV needs pincode, district and statename/state columns");
+            }
+            String line;
+            int skipped = 0;
+            while ((line = reader.readLine()) != null) {
+                List<String> cells = splitCsv(line);
+                if (cells.size() <= Math.max(pinCol, Math.max(districtCol, stateCol))) {
+                    skipped++;
+                    continue;
+                }
+                String digits = cells.get(pinCol).replaceAll("\\D", "");
+                int state = stateIndex(cells.get(stateCol));
+                String district = titleCase(cells.get(districtCol));
+                if (digits.length() != 6 || state < 0 || district.isEmpty()) {
+                    skipped++;
+                    continue;
+                }
+                int pincode = Integer.parseInt(digits);
+                prefixMasks[pincode / 1000] |= 1L << state;
+                // A pincode covers several post offices; they share a district, so the first row wins
+                if (!entries.containsKey(pincode)) {
+                    int districtIndex = districts.computeIfAbsent(district, d -> districts.size());
+                    entries.put(pincode, new int[] {state, districtIndex});
+                }
+            }
+            if (skipped > 0) {
+                System.out.println("Skipped " + skipped + " rows without a valid pincode, known state and district");
+            }
+        }
+    }
+
+    static int stateIndex(String name) {
+        String key = normalize(name);
+        for (int i = 0; i < STATES.size(); i++) {
+            if (normalize(STATES.get(i)).equals(key)) return i;
+        }
+        String alias = ALIASES.get(key);
+        return alias != null ? STATES.indexOf(alias) : -1;
+    }
+
+    static String normalize(String s) {
+        return s.toLowerCase(Locale.ROOT).replace("&", " and ").replaceAll("[^a-z]+", " ").trim();
+    }
+
+    static String titleCase(String s) {
+        StringBuilder sb = new StringBuilder();
+        for (String word : s.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (word.isEmpty()) continue;
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+        }
+        return sb.toString();
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                cells.add(cell.toString().trim());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString().trim());
+        return cells;
+    }
+
+    static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(b.length);
+        out.write(b);
+    }
+}